@@ -4,7 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration properties for PSKReporter monitoring.
@@ -16,7 +18,14 @@ public class PSKReporterConfig {
 
     private Server server = new Server();
     private List<String> monitoredCallsigns;
+    private Map<String, List<String>> dxccPrefixes = new HashMap<>();
     private Alert alert = new Alert();
+    private Cluster cluster = new Cluster();
+    private Leaderboard leaderboard = new Leaderboard();
+    private Export export = new Export();
+    private Sketch sketch = new Sketch();
+    private BandOpening bandOpening = new BandOpening();
+    private Tiles tiles = new Tiles();
 
     @Data
     public static class Server {
@@ -30,5 +39,85 @@ public class PSKReporterConfig {
         private int snrThreshold = 10;
         private int distanceThreshold = 1000;
         private boolean enabled = true;
+        private List<String> webhookUrls;
+        private Webhook webhook = new Webhook();
+        private SubscriberDelivery subscriberDelivery = new SubscriberDelivery();
+        private Recovery recovery = new Recovery();
+    }
+
+    @Data
+    public static class Webhook {
+        private long flushIntervalMs = 1000;
+        private int maxBatchSize = 100;
+        private int maxQueueSize = 10_000;
+        private long connectTimeoutMs = 2000;
+        private long requestTimeoutMs = 5000;
+        private int maxRetries = 3;
+        private long retryBackoffMs = 1000;
+    }
+
+    @Data
+    public static class SubscriberDelivery {
+        private int threads = 2;
+        private int maxQueueSize = 10_000;
+    }
+
+    @Data
+    public static class Recovery {
+        private boolean enabled = true;
+        private long intervalMs = 300_000;
+        private int chunkSize = 200;
+        private int maxChunksPerRun = 10;
+        private long pauseBetweenChunksMs = 250;
+    }
+
+    @Data
+    public static class Cluster {
+        private boolean enabled = false;
+        private String nodeId;
+        private int partitions = 64;
+        private long leaseDurationMs = 30_000;
+        private long heartbeatIntervalMs = 10_000;
+    }
+
+    @Data
+    public static class Leaderboard {
+        private int size = 10;
+        private int retentionDays = 1;
+        private long flushIntervalMs = 60_000;
+    }
+
+    @Data
+    public static class Export {
+        private int fetchSize = 5000;
+        private int bufferSize = 65_536;
+        private long timeoutMs = 3_600_000;
+        private int maxConcurrent = 4;
+    }
+
+    @Data
+    public static class Sketch {
+        private int retentionHours = 2;
+        private long flushIntervalMs = 60_000;
+    }
+
+    @Data
+    public static class BandOpening {
+        private boolean enabled = true;
+        private int windowMinutes = 5;
+        private int baselineMinutes = 30;
+        private double factor = 5.0;
+        private int minSpots = 20;
+        private double minBaselinePerMinute = 0.5;
+        private int cooldownMinutes = 60;
+    }
+
+    @Data
+    public static class Tiles {
+        private int bucketMinutes = 10;
+        private int hotWindowMinutes = 60;
+        private int maxMinutes = 1440;
+        private int maxZoom = 12;
+        private int cacheSize = 2000;
     }
 }
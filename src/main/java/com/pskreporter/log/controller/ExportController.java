@@ -0,0 +1,78 @@
+package com.pskreporter.log.controller;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.model.ExportFormat;
+import com.pskreporter.log.service.ReportExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller for bulk export of reception history.
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ReportExportService exportService;
+    private final PSKReporterConfig config;
+
+    /**
+     * Stream a callsign's reports in [from, to) as a gzipped CSV or ADIF file.
+     * Defaults to the last 30 days. The export runs asynchronously with its
+     * own timeout ({@code pskreporter.export.timeout-ms}), so the global MVC
+     * async timeout stays at its default for every other request. Responds
+     * 503 when {@code pskreporter.export.max-concurrent} exports are running.
+     */
+    @GetMapping("/{callsign}")
+    public WebAsyncTask<Void> export(
+            @PathVariable String callsign,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) {
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        }
+
+        String normalizedCallsign = callsign.trim().toUpperCase();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        String filename = normalizedCallsign.replace('/', '_') + "." + exportFormat.getExtension() + ".gz";
+
+        if (!exportService.tryStart()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports running, retry later");
+        }
+
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                           ContentDisposition.attachment().filename(filename).build().toString());
+
+        // The response is written directly, so the task has no result
+        // The slot is held until the export ends, which may be after the request timed out
+        return new WebAsyncTask<>(config.getExport().getTimeoutMs(), () -> {
+            try {
+                OutputStream out = response.getOutputStream();
+                exportService.export(normalizedCallsign, start, end, exportFormat, out);
+                out.flush();
+                return null;
+            } finally {
+                exportService.finish();
+            }
+        });
+    }
+}
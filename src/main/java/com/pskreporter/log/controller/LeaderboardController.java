@@ -0,0 +1,47 @@
+package com.pskreporter.log.controller;
+
+import com.pskreporter.log.model.Leaderboard;
+import com.pskreporter.log.model.LeaderboardMetric;
+import com.pskreporter.log.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller serving precomputed per-day leaderboards.
+ */
+@RestController
+@RequestMapping("/api/leaderboards")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Get a callsign's best receptions of a day, ranked by SNR (strongest
+     * receivers) or distance (best DX). Defaults to today.
+     */
+    @GetMapping("/{callsign}")
+    public ResponseEntity<List<Leaderboard.Entry>> getLeaderboard(
+            @PathVariable String callsign,
+            @RequestParam(defaultValue = "snr") String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        LeaderboardMetric leaderboardMetric;
+        try {
+            leaderboardMetric = LeaderboardMetric.valueOf(metric.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(
+            callsign.trim().toUpperCase(),
+            date != null ? date : LocalDate.now(),
+            leaderboardMetric
+        ));
+    }
+}
@@ -1,16 +1,25 @@
 package com.pskreporter.log.controller;
 
 import com.pskreporter.log.entity.MonitoredCallsign;
-import com.pskreporter.log.entity.ReceptionReport;
-import com.pskreporter.log.repository.ReceptionReportRepository;
+import com.pskreporter.log.model.Band;
+import com.pskreporter.log.model.CallsignImportResult;
+import com.pskreporter.log.model.IngestStats;
+import com.pskreporter.log.model.ReceptionReportSummary;
+import com.pskreporter.log.model.ReportQuery;
+import com.pskreporter.log.model.WebhookEndpointStats;
+import com.pskreporter.log.service.ClusterCoordinator;
 import com.pskreporter.log.service.MonitoredCallsignService;
+import com.pskreporter.log.service.PSKReporterClient;
+import com.pskreporter.log.service.ReportQueryService;
+import com.pskreporter.log.service.WebhookAlertChannel;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for managing PSKReporter monitoring.
@@ -21,7 +30,10 @@ import java.util.List;
 public class PSKReporterController {
 
     private final MonitoredCallsignService callsignService;
-    private final ReceptionReportRepository receptionReportRepository;
+    private final ReportQueryService reportQueryService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final WebhookAlertChannel webhookChannel;
+    private final PSKReporterClient client;
 
     /**
      * Get all monitored callsigns.
@@ -40,6 +52,14 @@ public class PSKReporterController {
         return ResponseEntity.ok(monitored);
     }
 
+    /**
+     * Bulk import callsigns and patterns ("VK*", "*&#47;P", "DXCC:JA").
+     */
+    @PostMapping("/callsigns/import")
+    public ResponseEntity<CallsignImportResult> importCallsigns(@RequestBody List<String> callsigns) {
+        return ResponseEntity.ok(callsignService.upsertCallsigns(callsigns));
+    }
+
     /**
      * Remove a callsign from monitoring.
      */
@@ -53,30 +73,109 @@ public class PSKReporterController {
      * Get recent reception reports.
      */
     @GetMapping("/reports")
-    public List<ReceptionReport> getRecentReports(
+    public List<ReceptionReportSummary> getRecentReports(
             @RequestParam(required = false) String callsign,
             @RequestParam(defaultValue = "100") int limit) {
         
+        ReportQuery query = ReportQuery.builder()
+            .limit(limit)
+            .build();
         if (callsign != null) {
-            return receptionReportRepository.findByTxCallsignAndTimestampAfter(
-                callsign, 
-                LocalDateTime.now().minusDays(1)
-            );
+            query.setTxCallsign(callsign);
+            query.setFrom(LocalDateTime.now().minusDays(1));
         }
         
-        return receptionReportRepository.findAll(PageRequest.of(0, limit)).getContent();
+        return reportQueryService.search(query);
+    }
+
+    /**
+     * Search reception reports, newest first. All filters are optional;
+     * times are ISO date-times and the range is [from, to).
+     */
+    @GetMapping("/reports/search")
+    public List<ReceptionReportSummary> searchReports(
+            @RequestParam(required = false) String callsign,
+            @RequestParam(required = false) String rxCallsign,
+            @RequestParam(required = false) String band,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) Integer minSnr,
+            @RequestParam(required = false) Integer maxSnr,
+            @RequestParam(required = false) Integer minDistance,
+            @RequestParam(required = false) Integer maxDistance,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        return reportQueryService.search(ReportQuery.builder()
+            .txCallsign(callsign)
+            .rxCallsign(rxCallsign)
+            .band(band != null ? Band.fromLabel(band) : null)
+            .mode(mode)
+            .minSnr(minSnr)
+            .maxSnr(maxSnr)
+            .minDistance(minDistance)
+            .maxDistance(maxDistance)
+            .from(from)
+            .to(to)
+            .limit(limit)
+            .build());
     }
 
     /**
      * Get a specific reception report by ID.
      */
     @GetMapping("/reports/{id}")
-    public ResponseEntity<ReceptionReport> getReport(@PathVariable Long id) {
-        return receptionReportRepository.findById(id)
+    public ResponseEntity<ReceptionReportSummary> getReport(@PathVariable Long id) {
+        return reportQueryService.findById(id)
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Show this node's id and the callsign partitions it currently owns.
+     */
+    @GetMapping("/cluster")
+    public Map<String, Object> getClusterStatus() {
+        return Map.of(
+            "nodeId", clusterCoordinator.getNodeId(),
+            "ownedPartitions", clusterCoordinator.getOwnedPartitions()
+        );
+    }
+
+    /**
+     * Show delivery counters and latency of every webhook endpoint.
+     */
+    @GetMapping("/alerts/webhooks")
+    public List<WebhookEndpointStats> getWebhookStats() {
+        return webhookChannel.getStats();
+    }
+
+    /**
+     * Show packet, reception and drop counters of the UDP receiver.
+     */
+    @GetMapping("/ingest/stats")
+    public IngestStats getIngestStats() {
+        return client.getStats();
+    }
+
+    /**
+     * Remove a callsign or pattern given as a query parameter, for patterns
+     * such as "*&#47;P" that cannot be used as a path segment.
+     */
+    @DeleteMapping("/callsigns")
+    public ResponseEntity<Void> removeCallsignPattern(@RequestParam String callsign) {
+        callsignService.removeMonitoredCallsign(callsign);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Reject invalid callsign patterns and other bad input.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
     /**
      * Health check endpoint.
      */
@@ -0,0 +1,51 @@
+package com.pskreporter.log.controller;
+
+import com.pskreporter.log.model.Band;
+import com.pskreporter.log.model.PropagationStats;
+import com.pskreporter.log.service.SketchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller serving propagation statistics from hourly sketches.
+ */
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final SketchService sketchService;
+
+    /**
+     * Get spot count, distinct receivers and SNR/distance percentiles of a
+     * callsign, at hour granularity. Defaults to the last 24 hours on all bands.
+     */
+    @GetMapping("/{callsign}")
+    public ResponseEntity<PropagationStats> getStats(
+            @PathVariable String callsign,
+            @RequestParam(required = false) String band,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String bandLabel = null;
+        if (band != null) {
+            try {
+                bandLabel = Band.fromLabel(band).getLabel();
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        return ResponseEntity.ok(sketchService.getStats(callsign.trim().toUpperCase(), bandLabel, start, end));
+    }
+}
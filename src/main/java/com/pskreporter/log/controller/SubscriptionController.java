@@ -0,0 +1,93 @@
+package com.pskreporter.log.controller;
+
+import com.pskreporter.log.entity.Subscriber;
+import com.pskreporter.log.entity.Subscription;
+import com.pskreporter.log.service.SubscriptionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for subscribers and their personal watchlists.
+ */
+@RestController
+@RequestMapping("/api/subscribers")
+@RequiredArgsConstructor
+public class SubscriptionController {
+
+    private final SubscriptionService subscriptionService;
+
+    /**
+     * Create a subscriber receiving alerts by email, webhook or both.
+     */
+    @PostMapping
+    public ResponseEntity<Subscriber> createSubscriber(
+            @RequestParam String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String webhookUrl) {
+        return ResponseEntity.ok(subscriptionService.createSubscriber(name, email, webhookUrl));
+    }
+
+    /**
+     * Get a subscriber.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Subscriber> getSubscriber(@PathVariable Long id) {
+        return subscriptionService.getSubscriber(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Delete a subscriber and their watchlist.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSubscriber(@PathVariable Long id) {
+        return subscriptionService.deleteSubscriber(id)
+            ? ResponseEntity.ok().build()
+            : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Get a subscriber's watchlist.
+     */
+    @GetMapping("/{id}/subscriptions")
+    public List<Subscription> getSubscriptions(@PathVariable Long id) {
+        return subscriptionService.getSubscriptions(id);
+    }
+
+    /**
+     * Watch a callsign or pattern ("VK*", "*&#47;P"), optionally with own thresholds.
+     */
+    @PostMapping("/{id}/subscriptions")
+    public ResponseEntity<Subscription> addSubscription(
+            @PathVariable Long id,
+            @RequestParam String callsign,
+            @RequestParam(required = false) Integer snrThreshold,
+            @RequestParam(required = false) Integer distanceThreshold) {
+
+        return subscriptionService.addSubscription(id, callsign, snrThreshold, distanceThreshold)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Remove an entry from a subscriber's watchlist.
+     */
+    @DeleteMapping("/{id}/subscriptions/{subscriptionId}")
+    public ResponseEntity<Void> removeSubscription(@PathVariable Long id, @PathVariable Long subscriptionId) {
+        return subscriptionService.removeSubscription(id, subscriptionId)
+            ? ResponseEntity.ok().build()
+            : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Reject invalid patterns and subscriber details.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,41 @@
+package com.pskreporter.log.controller;
+
+import com.pskreporter.log.model.TileAggregate;
+import com.pskreporter.log.service.TileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller serving clustered spot map tiles.
+ */
+@RestController
+@RequestMapping("/api/tiles")
+@RequiredArgsConstructor
+public class TileController {
+
+    private final TileService tileService;
+
+    /**
+     * Get a callsign's receiver positions in slippy-map tile (z, x, y) over
+     * the last minutes, as up to 64 clusters with count, best SNR and centroid.
+     */
+    @GetMapping("/{z}/{x}/{y}")
+    public ResponseEntity<TileAggregate> getTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestParam String callsign,
+            @RequestParam(defaultValue = "60") int minutes) {
+
+        return ResponseEntity.ok(tileService.getTile(callsign.trim().toUpperCase(), z, x, y, minutes));
+    }
+
+    /**
+     * Reject tiles and time ranges out of bounds.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
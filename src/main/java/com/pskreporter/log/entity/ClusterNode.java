@@ -0,0 +1,36 @@
+package com.pskreporter.log.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * JPA Entity representing a running instance in cluster mode.
+ * Each instance refreshes its heartbeat; instances whose heartbeat is older
+ * than the lease duration are considered gone.
+ */
+@Entity
+@Table(name = "cluster_nodes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterNode {
+
+    /**
+     * Unique id of the instance
+     */
+    @Id
+    @Column(length = 64)
+    private String nodeId;
+
+    /**
+     * Last time the instance reported itself alive
+     */
+    @Column(nullable = false)
+    private Instant lastHeartbeat;
+}
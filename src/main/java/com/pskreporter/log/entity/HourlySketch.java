@@ -0,0 +1,77 @@
+package com.pskreporter.log.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity storing the propagation sketch of one callsign, band and hour.
+ * The sketch is kept in the binary form produced by
+ * {@link com.pskreporter.log.model.PropagationAggregate#encode()}.
+ */
+@Entity
+@Table(name = "hourly_sketches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_hourly_sketch_key", columnNames = {"callsign", "band", "hourStart"})
+}, indexes = {
+    @Index(name = "idx_sketch_callsign_hour", columnList = "callsign, hourStart")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HourlySketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Transmitter callsign the sketch belongs to
+     */
+    @Column(nullable = false, length = 20)
+    private String callsign;
+
+    /**
+     * Band label, e.g. "20m", or "other" outside the amateur bands
+     */
+    @Column(nullable = false, length = 8)
+    private String band;
+
+    /**
+     * Start of the hour covered by the sketch
+     */
+    @Column(nullable = false)
+    private LocalDateTime hourStart;
+
+    /**
+     * Number of receptions in the hour
+     */
+    @Column(nullable = false)
+    private Long spotCount;
+
+    /**
+     * Encoded sketch
+     */
+    @Column(nullable = false, length = 8192)
+    private byte[] sketch;
+
+    /**
+     * When the sketch was last written
+     */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic lock, so concurrent flushes of two nodes cannot overwrite each
+     * other. Rows written before the column existed start at 0.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+}
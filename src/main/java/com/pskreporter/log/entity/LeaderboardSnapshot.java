@@ -0,0 +1,72 @@
+package com.pskreporter.log.entity;
+
+import com.pskreporter.log.model.LeaderboardMetric;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity storing a persisted top-N leaderboard for one callsign, day and metric.
+ * The entries are kept in the compact binary form produced by
+ * {@link com.pskreporter.log.model.Leaderboard#encode()}.
+ */
+@Entity
+@Table(name = "leaderboards", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_leaderboard_key", columnNames = {"callsign", "reportDate", "metric"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Transmitter callsign the leaderboard belongs to
+     */
+    @Column(nullable = false, length = 20)
+    private String callsign;
+
+    /**
+     * Day of the ranked receptions
+     */
+    @Column(nullable = false)
+    private LocalDate reportDate;
+
+    /**
+     * Metric the receptions are ranked by
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private LeaderboardMetric metric;
+
+    /**
+     * Encoded leaderboard entries
+     */
+    @Column(nullable = false, length = 8192)
+    private byte[] entries;
+
+    /**
+     * When the snapshot was last written
+     */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic lock, so concurrent flushes of two nodes cannot overwrite each
+     * other. Rows written before the column existed start at 0.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,40 @@
+package com.pskreporter.log.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * JPA Entity representing the lease on one callsign-hash partition.
+ * In cluster mode only the instance holding an unexpired lease processes,
+ * alerts on and aggregates the callsigns that hash into the partition.
+ */
+@Entity
+@Table(name = "partition_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartitionLease {
+
+    /**
+     * Partition number, 0 to partitions - 1
+     */
+    @Id
+    private Integer partitionId;
+
+    /**
+     * Node currently holding the lease, null if unowned
+     */
+    @Column(length = 64)
+    private String ownerId;
+
+    /**
+     * Time at which the lease expires unless renewed
+     */
+    private Instant leaseUntil;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -15,9 +16,11 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "reception_reports", indexes = {
-    @Index(name = "idx_tx_callsign", columnList = "txCallsign"),
-    @Index(name = "idx_rx_callsign", columnList = "rxCallsign"),
-    @Index(name = "idx_timestamp", columnList = "timestamp")
+    @Index(name = "idx_tx_callsign_timestamp", columnList = "txCallsign, timestamp"),
+    @Index(name = "idx_rx_callsign_timestamp", columnList = "rxCallsign, timestamp"),
+    @Index(name = "idx_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_alert_pending_id", columnList = "alertSent, alertSkipped, id"),
+    @Index(name = "idx_alert_pending_partition_id", columnList = "alertSent, alertSkipped, callsignPartition, id")
 })
 @Data
 @NoArgsConstructor
@@ -89,10 +92,26 @@ public class ReceptionReport {
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
+    /**
+     * Cluster partition of the transmitter callsign, so the recovery sweep
+     * only reads the reports of partitions its node owns
+     */
+    private Integer callsignPartition;
+
     /**
      * Flag indicating if an alert was sent for this report
      */
     @Column(nullable = false)
     @Builder.Default
     private Boolean alertSent = false;
+
+    /**
+     * Flag indicating that no alert is due for this report, because its
+     * callsign is only watched by subscribers or was deactivated before the
+     * alert went out
+     */
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean alertSkipped = false;
 }
@@ -0,0 +1,57 @@
+package com.pskreporter.log.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing a user who receives alerts for their own watchlist.
+ */
+@Entity
+@Table(name = "subscribers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Subscriber {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Display name
+     */
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    /**
+     * Address alerts are emailed to
+     */
+    @Column(length = 255)
+    private String email;
+
+    /**
+     * Optional URL alerts are posted to as JSON
+     */
+    @Column(length = 500)
+    private String webhookUrl;
+
+    /**
+     * Enable/disable all alerts for this subscriber
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    /**
+     * When the subscriber was created
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,63 @@
+package com.pskreporter.log.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity recording one alert due to one subscriber for one stored report.
+ * Rows are written with the report and claimed before sending, so every
+ * subscriber is alerted once, and undelivered rows are retried by the
+ * recovery sweep.
+ */
+@Entity
+@Table(name = "subscriber_alerts", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_subscriber_alert", columnNames = {"reportId", "subscriberId"})
+}, indexes = {
+    @Index(name = "idx_subscriber_alert_pending", columnList = "delivered, callsignPartition, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubscriberAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Report that triggered the alert
+     */
+    @Column(nullable = false)
+    private Long reportId;
+
+    /**
+     * Subscriber to alert
+     */
+    @Column(nullable = false)
+    private Long subscriberId;
+
+    /**
+     * Cluster partition of the report's transmitter callsign
+     */
+    private Integer callsignPartition;
+
+    /**
+     * Whether the alert was delivered, is being delivered, or is no longer due
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean delivered = false;
+
+    /**
+     * When the alert became due
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,57 @@
+package com.pskreporter.log.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing one watchlist entry of a subscriber: a callsign or
+ * callsign pattern with optional alert thresholds.
+ */
+@Entity
+@Table(name = "subscriptions", indexes = {
+    @Index(name = "idx_subscription_subscriber", columnList = "subscriberId")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Subscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Subscriber the entry belongs to
+     */
+    @Column(nullable = false)
+    private Long subscriberId;
+
+    /**
+     * Callsign or pattern ("VK*", "*&#47;P") to watch
+     */
+    @Column(nullable = false, length = 20)
+    private String callsign;
+
+    /**
+     * SNR threshold in dB; the global threshold applies if not set
+     */
+    private Integer snrThreshold;
+
+    /**
+     * Distance threshold in km; the global threshold applies if not set
+     */
+    private Integer distanceThreshold;
+
+    /**
+     * When the entry was created
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
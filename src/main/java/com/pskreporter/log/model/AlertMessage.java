@@ -0,0 +1,19 @@
+package com.pskreporter.log.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Channel-independent alert: email channels use the subject and text,
+ * webhook channels post the whole message as JSON.
+ *
+ * @param type      alert kind, "reception" or "propagation"
+ * @param key       what the alert is about: a callsign, or a path such as "20m:NA-AS"
+ * @param subject   one-line summary
+ * @param text      human-readable body
+ * @param createdAt when the alert was raised
+ * @param details   machine-readable fields, e.g. report id, SNR and distance
+ */
+public record AlertMessage(String type, String key, String subject, String text,
+                           LocalDateTime createdAt, Map<String, Object> details) {
+}
@@ -0,0 +1,70 @@
+package com.pskreporter.log.model;
+
+/**
+ * Amateur radio bands, with edges covering all three IARU regions.
+ */
+public enum Band {
+
+    BAND_160M("160m", 1_800_000L, 2_000_000L),
+    BAND_80M("80m", 3_500_000L, 4_000_000L),
+    BAND_60M("60m", 5_250_000L, 5_450_000L),
+    BAND_40M("40m", 7_000_000L, 7_300_000L),
+    BAND_30M("30m", 10_100_000L, 10_150_000L),
+    BAND_20M("20m", 14_000_000L, 14_350_000L),
+    BAND_17M("17m", 18_068_000L, 18_168_000L),
+    BAND_15M("15m", 21_000_000L, 21_450_000L),
+    BAND_12M("12m", 24_890_000L, 24_990_000L),
+    BAND_10M("10m", 28_000_000L, 29_700_000L),
+    BAND_6M("6m", 50_000_000L, 54_000_000L),
+    BAND_2M("2m", 144_000_000L, 148_000_000L);
+
+    private static final Band[] VALUES = values();
+
+    private final String label;
+    private final long lowerHz;
+    private final long upperHz;
+
+    Band(String label, long lowerHz, long upperHz) {
+        this.label = label;
+        this.lowerHz = lowerHz;
+        this.upperHz = upperHz;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getLowerHz() {
+        return lowerHz;
+    }
+
+    public long getUpperHz() {
+        return upperHz;
+    }
+
+    /**
+     * Find the band containing a frequency, or null if it is outside all bands.
+     */
+    public static Band fromFrequency(long frequencyHz) {
+        for (Band band : VALUES) {
+            if (frequencyHz >= band.lowerHz && frequencyHz <= band.upperHz) {
+                return band;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find a band by its label, e.g. "20m".
+     *
+     * @throws IllegalArgumentException if the label is unknown
+     */
+    public static Band fromLabel(String label) {
+        for (Band band : VALUES) {
+            if (band.label.equalsIgnoreCase(label.trim())) {
+                return band;
+            }
+        }
+        throw new IllegalArgumentException("Unknown band: " + label);
+    }
+}
@@ -0,0 +1,18 @@
+package com.pskreporter.log.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk upsert of monitored callsigns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CallsignImportResult {
+
+    private int received;
+    private int added;
+    private int reactivated;
+}
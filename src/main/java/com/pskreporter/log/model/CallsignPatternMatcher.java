@@ -0,0 +1,249 @@
+package com.pskreporter.log.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable matcher for monitored callsign patterns.
+ *
+ * Supported patterns are exact callsigns ("W1AW"), prefixes ("VK*", "3Y0*")
+ * and suffixes ("*&#47;P"). Exact and prefix patterns are compiled into one
+ * forward trie, suffix patterns into one reverse trie, so a callsign is
+ * matched with one pass over its characters in each direction no matter
+ * how many patterns there are.
+ *
+ * Patterns are identified by their index in the list passed to
+ * {@link #compile}; a duplicated pattern matches under its first index.
+ */
+public final class CallsignPatternMatcher {
+
+    public static final int MAX_LENGTH = 20;
+
+    private static final char WILDCARD = '*';
+    private static final int ALPHABET = 37;
+    private static final int NONE = -1;
+
+    private static final CallsignPatternMatcher EMPTY = compile(List.of());
+
+    private final Trie forward;
+    private final Trie reverse;
+    private final int size;
+
+    private CallsignPatternMatcher(Trie forward, Trie reverse, int size) {
+        this.forward = forward;
+        this.reverse = reverse;
+        this.size = size;
+    }
+
+    public static CallsignPatternMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compile normalized patterns into a matcher.
+     *
+     * @throws IllegalArgumentException if a pattern is not valid
+     */
+    public static CallsignPatternMatcher compile(List<String> patterns) {
+        TrieBuilder forward = new TrieBuilder();
+        TrieBuilder reverse = new TrieBuilder();
+
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (!isValid(pattern)) {
+                throw new IllegalArgumentException("Invalid callsign pattern: " + pattern);
+            }
+            if (pattern.charAt(pattern.length() - 1) == WILDCARD) {
+                forward.add(pattern, 0, pattern.length() - 1, false, id, true);
+            } else if (pattern.charAt(0) == WILDCARD) {
+                reverse.add(pattern, 1, pattern.length(), true, id, true);
+            } else {
+                forward.add(pattern, 0, pattern.length(), false, id, false);
+            }
+        }
+
+        return new CallsignPatternMatcher(forward.build(), reverse.build(), patterns.size());
+    }
+
+    /**
+     * Normalize a user-supplied pattern: trim and upper-case.
+     */
+    public static String normalize(String pattern) {
+        return pattern.trim().toUpperCase();
+    }
+
+    /**
+     * Check that a normalized pattern is an exact callsign, a prefix or a suffix.
+     */
+    public static boolean isValid(String pattern) {
+        if (pattern == null || pattern.isEmpty() || pattern.length() > MAX_LENGTH) {
+            return false;
+        }
+        int wildcards = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == WILDCARD) {
+                if (i != 0 && i != pattern.length() - 1) {
+                    return false;
+                }
+                wildcards++;
+            } else if (index(ch) == NONE) {
+                return false;
+            }
+        }
+        return wildcards == 0 || (wildcards == 1 && pattern.length() > 1);
+    }
+
+    /**
+     * Check whether a pattern is a plain callsign without wildcards.
+     */
+    public static boolean isLiteral(String pattern) {
+        return pattern.indexOf(WILDCARD) < 0;
+    }
+
+    /**
+     * Check whether any pattern matches the callsign.
+     */
+    public boolean matches(String callsign) {
+        return forward.first(callsign, false) != NONE || reverse.first(callsign, true) != NONE;
+    }
+
+    /**
+     * Report the id of every pattern matching the callsign.
+     */
+    public void forEachMatch(String callsign, IntConsumer consumer) {
+        forward.forEach(callsign, false, consumer);
+        reverse.forEach(callsign, true, consumer);
+    }
+
+    /**
+     * Number of patterns the matcher was compiled from.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Map a callsign character to its trie edge: A-Z, 0-9 and '/'.
+     * Lower-case letters map to their upper-case edge.
+     */
+    private static int index(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            return ch - 'A';
+        }
+        if (ch >= 'a' && ch <= 'z') {
+            return ch - 'a';
+        }
+        if (ch >= '0' && ch <= '9') {
+            return 26 + (ch - '0');
+        }
+        if (ch == '/') {
+            return 36;
+        }
+        return NONE;
+    }
+
+    /**
+     * Flat array trie. Node 0 is the root; child links are stored in
+     * {@code next[node * ALPHABET + edge]}, with 0 meaning no child.
+     * {@code wildcardId} marks nodes where a prefix (or suffix) pattern ends,
+     * {@code exactId} nodes where an exact pattern ends.
+     */
+    private record Trie(int[] next, int[] wildcardId, int[] exactId) {
+
+        int first(String callsign, boolean reversed) {
+            int node = 0;
+            int length = callsign.length();
+            for (int i = 0; i < length; i++) {
+                int edge = index(callsign.charAt(reversed ? length - 1 - i : i));
+                if (edge == NONE) {
+                    return NONE;
+                }
+                node = next[node * ALPHABET + edge];
+                if (node == 0) {
+                    return NONE;
+                }
+                if (wildcardId[node] != NONE) {
+                    return wildcardId[node];
+                }
+            }
+            return exactId[node];
+        }
+
+        void forEach(String callsign, boolean reversed, IntConsumer consumer) {
+            int node = 0;
+            int length = callsign.length();
+            for (int i = 0; i < length; i++) {
+                int edge = index(callsign.charAt(reversed ? length - 1 - i : i));
+                if (edge == NONE) {
+                    return;
+                }
+                node = next[node * ALPHABET + edge];
+                if (node == 0) {
+                    return;
+                }
+                if (wildcardId[node] != NONE) {
+                    consumer.accept(wildcardId[node]);
+                }
+            }
+            if (exactId[node] != NONE) {
+                consumer.accept(exactId[node]);
+            }
+        }
+    }
+
+    private static final class TrieBuilder {
+
+        private int[] next = new int[16 * ALPHABET];
+        private int[] wildcardId = newIds(16);
+        private int[] exactId = newIds(16);
+        private int nodes = 1;
+
+        void add(String pattern, int from, int to, boolean reversed, int id, boolean wildcard) {
+            int node = 0;
+            for (int i = from; i < to; i++) {
+                char ch = pattern.charAt(reversed ? to - 1 - (i - from) : i);
+                int slot = node * ALPHABET + index(ch);
+                if (next[slot] == 0) {
+                    next[slot] = newNode();
+                }
+                node = next[slot];
+            }
+            int[] ids = wildcard ? wildcardId : exactId;
+            if (ids[node] == NONE) {
+                ids[node] = id;
+            }
+        }
+
+        Trie build() {
+            return new Trie(
+                Arrays.copyOf(next, nodes * ALPHABET),
+                Arrays.copyOf(wildcardId, nodes),
+                Arrays.copyOf(exactId, nodes)
+            );
+        }
+
+        private int newNode() {
+            if (nodes == wildcardId.length) {
+                int capacity = nodes * 2;
+                next = Arrays.copyOf(next, capacity * ALPHABET);
+                wildcardId = grow(wildcardId, capacity);
+                exactId = grow(exactId, capacity);
+            }
+            return nodes++;
+        }
+
+        private static int[] newIds(int capacity) {
+            int[] ids = new int[capacity];
+            Arrays.fill(ids, NONE);
+            return ids;
+        }
+
+        private static int[] grow(int[] ids, int capacity) {
+            int[] grown = Arrays.copyOf(ids, capacity);
+            Arrays.fill(grown, ids.length, capacity, NONE);
+            return grown;
+        }
+    }
+}
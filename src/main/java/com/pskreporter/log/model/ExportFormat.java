@@ -0,0 +1,20 @@
+package com.pskreporter.log.model;
+
+/**
+ * File formats for bulk export of reception history.
+ */
+public enum ExportFormat {
+
+    CSV("csv"),
+    ADIF("adi");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,15 @@
+package com.pskreporter.log.model;
+
+/**
+ * Counters of the UDP receiver since startup.
+ */
+public record IngestStats(
+    long packets,
+    long receptions,
+    long failedReceptions,
+    long malformedPackets,
+    long unknownTemplateSets,
+    long rejectedRecords,
+    long evictedTemplates
+) {
+}
@@ -0,0 +1,94 @@
+package com.pskreporter.log.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Exact histogram of small integer values, e.g. SNR in whole dB.
+ *
+ * One counter per integer in [min, max]; values outside the range are clamped
+ * to its ends. Quantiles of values inside the range are exact, and merging
+ * two histograms is exact as well.
+ */
+public class IntHistogram {
+
+    private final int min;
+    private final long[] counts;
+    private long total;
+
+    public IntHistogram(int min, int max) {
+        this.min = min;
+        this.counts = new long[max - min + 1];
+    }
+
+    public void add(int value) {
+        int bin = Math.min(Math.max(value - min, 0), counts.length - 1);
+        counts[bin]++;
+        total++;
+    }
+
+    public void merge(IntHistogram other) {
+        if (other.min != min || other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Histogram ranges differ");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Value at quantile q (0 to 1), or null if the histogram is empty.
+     */
+    public Integer quantile(double q) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                return min + i;
+            }
+        }
+        return min + counts.length - 1;
+    }
+
+    /**
+     * Write the non-empty bins as (bin, count) pairs.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        int used = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                used++;
+            }
+        }
+        out.writeShort(used);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                out.writeShort(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Read the bins written by {@link #writeTo} into this histogram.
+     */
+    public void readFrom(DataInputStream in) throws IOException {
+        int used = in.readUnsignedShort();
+        for (int i = 0; i < used; i++) {
+            int bin = in.readUnsignedShort();
+            long count = in.readLong();
+            counts[bin] += count;
+            total += count;
+        }
+    }
+}
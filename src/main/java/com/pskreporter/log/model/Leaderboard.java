@@ -0,0 +1,195 @@
+package com.pskreporter.log.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bounded top-N list of receptions for one callsign, day and metric.
+ *
+ * Backed by a fixed-size min-heap, so offering a reception costs O(log N)
+ * and memory never exceeds N entries. Each receiver appears at most once,
+ * with its best value. Not thread-safe; callers synchronize on the instance.
+ */
+public class Leaderboard {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int NULL_VALUE = Integer.MIN_VALUE;
+
+    private final Entry[] heap;
+    private int size;
+    private boolean dirty;
+
+    public Leaderboard(int capacity) {
+        this.heap = new Entry[capacity];
+    }
+
+    /**
+     * One ranked reception.
+     */
+    public record Entry(int value, String rxCallsign, long frequency, String mode,
+                        Integer snr, Integer distance, LocalDateTime timestamp) {
+    }
+
+    /**
+     * Offer a reception; returns true if the leaderboard changed.
+     */
+    public boolean offer(Entry entry) {
+        for (int i = 0; i < size; i++) {
+            if (heap[i].rxCallsign().equals(entry.rxCallsign())) {
+                if (entry.value() <= heap[i].value()) {
+                    return false;
+                }
+                heap[i] = entry;
+                siftDown(i);
+                dirty = true;
+                return true;
+            }
+        }
+
+        if (size < heap.length) {
+            heap[size] = entry;
+            siftUp(size++);
+        } else if (entry.value() > heap[0].value()) {
+            heap[0] = entry;
+            siftDown(0);
+        } else {
+            return false;
+        }
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Offer every entry of another leaderboard of the same callsign, day and
+     * metric. The result is the top N of both, so merging is order-independent.
+     */
+    public void merge(Leaderboard other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+    }
+
+    /**
+     * Entries ordered from best to worst.
+     */
+    public List<Entry> ranked() {
+        Entry[] copy = Arrays.copyOf(heap, size);
+        Arrays.sort(copy, Comparator.comparingInt(Entry::value).reversed());
+        return List.of(copy);
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markClean() {
+        dirty = false;
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Serialize to a compact binary form for storage.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + size * 48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(size);
+            for (int i = 0; i < size; i++) {
+                Entry entry = heap[i];
+                out.writeInt(entry.value());
+                out.writeUTF(entry.rxCallsign());
+                out.writeLong(entry.frequency());
+                out.writeUTF(entry.mode() != null ? entry.mode() : "");
+                out.writeInt(entry.snr() != null ? entry.snr() : NULL_VALUE);
+                out.writeInt(entry.distance() != null ? entry.distance() : NULL_VALUE);
+                out.writeLong(entry.timestamp().toEpochSecond(ZoneOffset.UTC));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restore a leaderboard written by {@link #encode()}.
+     */
+    public static Leaderboard decode(byte[] data, int capacity) {
+        Leaderboard leaderboard = new Leaderboard(capacity);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported leaderboard format " + version);
+            }
+            int count = in.readUnsignedByte();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int value = in.readInt();
+                String rxCallsign = in.readUTF();
+                long frequency = in.readLong();
+                String mode = in.readUTF();
+                int snr = in.readInt();
+                int distance = in.readInt();
+                long epochSecond = in.readLong();
+                entries.add(new Entry(
+                    value,
+                    rxCallsign,
+                    frequency,
+                    mode.isEmpty() ? null : mode,
+                    snr == NULL_VALUE ? null : snr,
+                    distance == NULL_VALUE ? null : distance,
+                    LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC)
+                ));
+            }
+            entries.forEach(leaderboard::offer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        leaderboard.markClean();
+        return leaderboard;
+    }
+
+    private void siftUp(int index) {
+        Entry entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].value() <= entry.value()) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private void siftDown(int index) {
+        Entry entry = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].value() < heap[child].value()) {
+                child = right;
+            }
+            if (entry.value() <= heap[child].value()) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+}
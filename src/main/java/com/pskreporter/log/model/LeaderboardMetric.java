@@ -0,0 +1,17 @@
+package com.pskreporter.log.model;
+
+/**
+ * Metrics a callsign's receptions are ranked by.
+ */
+public enum LeaderboardMetric {
+
+    /**
+     * Strongest receivers of the callsign's signal
+     */
+    SNR,
+
+    /**
+     * Longest paths (best DX) of the day
+     */
+    DISTANCE
+}
@@ -0,0 +1,106 @@
+package com.pskreporter.log.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Relative-accuracy quantile sketch for non-negative values, e.g. distance in km.
+ *
+ * Values are counted in logarithmic buckets whose bounds grow by a factor
+ * gamma = (1 + a) / (1 - a), with relative accuracy a = 2%. Any quantile is
+ * returned within 2% of the true value of the rank it represents, and merging
+ * sketches keeps that guarantee (the DDSketch construction). Values below 1
+ * share a single zero bucket; values beyond the top bucket are clamped into it.
+ */
+public class LogHistogram {
+
+    private static final double RELATIVE_ACCURACY = 0.02;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int BUCKETS = 512;
+
+    private final long[] counts = new long[BUCKETS];
+    private long zeroCount;
+    private long total;
+
+    public void add(double value) {
+        if (value < 1) {
+            zeroCount++;
+        } else {
+            int bucket = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+            counts[Math.min(bucket, BUCKETS - 1)]++;
+        }
+        total++;
+    }
+
+    public void merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        total += other.total;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Value at quantile q (0 to 1), or null if the sketch is empty.
+     */
+    public Double quantile(double q) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max((long) Math.ceil(q * total), 1);
+        long seen = zeroCount;
+        if (seen >= rank) {
+            return 0.0;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Midpoint of (gamma^(i-1), gamma^i] in relative terms
+                return 2 * Math.pow(GAMMA, i) / (GAMMA + 1);
+            }
+        }
+        return 2 * Math.pow(GAMMA, BUCKETS - 1) / (GAMMA + 1);
+    }
+
+    /**
+     * Write the zero bucket and the non-empty buckets as (bucket, count) pairs.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        int used = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                used++;
+            }
+        }
+        out.writeLong(zeroCount);
+        out.writeShort(used);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                out.writeShort(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Read the buckets written by {@link #writeTo} into this sketch.
+     */
+    public void readFrom(DataInputStream in) throws IOException {
+        long zeros = in.readLong();
+        zeroCount += zeros;
+        total += zeros;
+        int used = in.readUnsignedShort();
+        for (int i = 0; i < used; i++) {
+            int bucket = in.readUnsignedShort();
+            long count = in.readLong();
+            counts[bucket] += count;
+            total += count;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.pskreporter.log.model;
+
+/**
+ * Conversion between latitude/longitude and Maidenhead grid locators.
+ */
+public final class Maidenhead {
+
+    private Maidenhead() {
+    }
+
+    /**
+     * Encode a position as a 6-character locator, e.g. "FN31pr".
+     */
+    public static String toLocator(double latitude, double longitude) {
+        double lon = Math.min(Math.max(longitude + 180.0, 0.0), 359.999999);
+        double lat = Math.min(Math.max(latitude + 90.0, 0.0), 179.999999);
+
+        char[] locator = new char[6];
+        locator[0] = (char) ('A' + (int) (lon / 20));
+        locator[1] = (char) ('A' + (int) (lat / 10));
+        locator[2] = (char) ('0' + (int) ((lon % 20) / 2));
+        locator[3] = (char) ('0' + (int) (lat % 10));
+        locator[4] = (char) ('a' + (int) ((lon % 2) * 12));
+        locator[5] = (char) ('a' + (int) ((lat % 1) * 24));
+        return new String(locator);
+    }
+
+    /**
+     * Decode a 4- or 6-character locator into the latitude/longitude of the
+     * center of its square, or null if it is not a valid locator.
+     */
+    public static double[] toLatLon(String locator) {
+        if (locator == null || (locator.length() != 4 && locator.length() != 6)) {
+            return null;
+        }
+        String upper = locator.toUpperCase();
+        int field0 = upper.charAt(0) - 'A';
+        int field1 = upper.charAt(1) - 'A';
+        int square0 = upper.charAt(2) - '0';
+        int square1 = upper.charAt(3) - '0';
+        if (field0 < 0 || field0 >= 18 || field1 < 0 || field1 >= 18
+            || square0 < 0 || square0 > 9 || square1 < 0 || square1 > 9) {
+            return null;
+        }
+
+        double lon = field0 * 20 + square0 * 2;
+        double lat = field1 * 10 + square1;
+        if (upper.length() == 4) {
+            return new double[] {lat + 0.5 - 90, lon + 1 - 180};
+        }
+
+        int sub0 = upper.charAt(4) - 'A';
+        int sub1 = upper.charAt(5) - 'A';
+        if (sub0 < 0 || sub0 >= 24 || sub1 < 0 || sub1 >= 24) {
+            return null;
+        }
+        return new double[] {
+            lat + (sub1 + 0.5) / 24 - 90,
+            lon + (sub0 + 0.5) / 12 - 180
+        };
+    }
+}
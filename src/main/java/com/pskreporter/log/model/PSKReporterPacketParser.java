@@ -0,0 +1,325 @@
+package com.pskreporter.log.model;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoder for the IPFIX (RFC 7011) packets PSKReporter reporting software sends.
+ *
+ * A packet carries one receiver record (receiver callsign and locator) and any
+ * number of sender records (callsign, frequency, SNR, mode, locator, time).
+ * Record layouts are described by templates that senders repeat every few
+ * packets; they are remembered per source and observation domain, up to
+ * {@code maxTemplates} least recently used ones, and data sets whose template
+ * has not been seen yet are skipped. Fields are looked up by their PSKReporter
+ * enterprise element ids, so unknown fields are ignored. Records with a
+ * callsign, mode or locator longer than {@link #MAX_STRING_LENGTH} are
+ * rejected, and so are the sender records of a rejected receiver record.
+ * Not thread-safe.
+ *
+ * @see <a href="https://pskreporter.info/pskdev.html">PSKReporter developer information</a>
+ */
+public class PSKReporterPacketParser {
+
+    public static final int IPFIX_VERSION = 10;
+    public static final int TEMPLATE_SET = 2;
+    public static final int OPTIONS_TEMPLATE_SET = 3;
+    public static final long PSKREPORTER_ENTERPRISE = 30351;
+
+    // Information elements, PSKReporter enterprise
+    public static final int SENDER_CALLSIGN = 1;
+    public static final int RECEIVER_CALLSIGN = 2;
+    public static final int SENDER_LOCATOR = 3;
+    public static final int RECEIVER_LOCATOR = 4;
+    public static final int FREQUENCY = 5;
+    public static final int SNR = 6;
+    public static final int MODE = 10;
+    // IANA element
+    public static final int FLOW_START_SECONDS = 150;
+
+    public static final int VARIABLE_LENGTH = 0xFFFF;
+
+    // Length of the callsign and mode columns of reception_reports
+    public static final int MAX_STRING_LENGTH = 20;
+
+    public static final int DEFAULT_MAX_TEMPLATES = 4096;
+
+    private final Map<TemplateKey, Field[]> templates;
+
+    private long unknownTemplateSets;
+    private long rejectedRecords;
+    private long evictedTemplates;
+
+    private record TemplateKey(String source, long domain, int templateId) {
+    }
+
+    private record Field(int id, long enterprise, int length) {
+    }
+
+    public PSKReporterPacketParser() {
+        this(DEFAULT_MAX_TEMPLATES);
+    }
+
+    /**
+     * @param maxTemplates number of templates remembered across all sources
+     */
+    public PSKReporterPacketParser(int maxTemplates) {
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TemplateKey, Field[]> eldest) {
+                if (size() > maxTemplates) {
+                    evictedTemplates++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Parse one packet from a source, e.g. the sender's address.
+     *
+     * @return the receptions in the packet, possibly none
+     * @throws IllegalArgumentException if the packet is malformed
+     */
+    public List<PSKReception> parse(String source, ByteBuffer buffer) {
+        try {
+            return parsePacket(source, buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated IPFIX packet", e);
+        }
+    }
+
+    /**
+     * Number of data sets skipped because their template was unknown.
+     */
+    public long getUnknownTemplateSets() {
+        return unknownTemplateSets;
+    }
+
+    /**
+     * Number of records dropped because a string is longer than
+     * {@link #MAX_STRING_LENGTH}.
+     */
+    public long getRejectedRecords() {
+        return rejectedRecords;
+    }
+
+    /**
+     * Number of templates dropped to stay within {@code maxTemplates}.
+     */
+    public long getEvictedTemplates() {
+        return evictedTemplates;
+    }
+
+    private List<PSKReception> parsePacket(String source, ByteBuffer buffer) {
+        int start = buffer.position();
+        int version = buffer.getShort() & 0xFFFF;
+        if (version != IPFIX_VERSION) {
+            throw new IllegalArgumentException("Not an IPFIX packet, version " + version);
+        }
+        int length = buffer.getShort() & 0xFFFF;
+        if (length < 16 || length > buffer.limit() - start) {
+            throw new IllegalArgumentException("Invalid IPFIX message length " + length);
+        }
+        long exportTime = buffer.getInt() & 0xFFFFFFFFL;
+        buffer.getInt(); // sequence number
+        long domain = buffer.getInt() & 0xFFFFFFFFL;
+        int end = start + length;
+
+        List<PSKReception> senders = new ArrayList<>();
+        String receiverCallsign = null;
+        String receiverLocator = null;
+        boolean receiverRejected = false;
+
+        while (end - buffer.position() >= 4) {
+            int setId = buffer.getShort() & 0xFFFF;
+            int setLength = buffer.getShort() & 0xFFFF;
+            int setEnd = buffer.position() - 4 + setLength;
+            if (setLength < 4 || setEnd > end) {
+                throw new IllegalArgumentException("Invalid IPFIX set length " + setLength);
+            }
+
+            if (setId == TEMPLATE_SET || setId == OPTIONS_TEMPLATE_SET) {
+                readTemplates(source, domain, setId == OPTIONS_TEMPLATE_SET, buffer, setEnd);
+            } else if (setId >= 256) {
+                Field[] fields = templates.get(new TemplateKey(source, domain, setId));
+                if (fields == null) {
+                    unknownTemplateSets++;
+                } else {
+                    int minLength = minRecordLength(fields);
+                    while (minLength > 0 && setEnd - buffer.position() >= minLength) {
+                        Map<Integer, Object> values = readRecord(fields, buffer);
+                        if (buffer.position() > setEnd) {
+                            throw new IllegalArgumentException("IPFIX record overruns its set");
+                        }
+                        boolean fits = fitsColumns(values);
+                        if (!fits) {
+                            rejectedRecords++;
+                        }
+                        if (values.containsKey(SENDER_CALLSIGN)) {
+                            if (fits) {
+                                senders.add(toReception(values, exportTime));
+                            }
+                        } else if (values.containsKey(RECEIVER_CALLSIGN)) {
+                            if (fits) {
+                                receiverCallsign = (String) values.get(RECEIVER_CALLSIGN);
+                                receiverLocator = (String) values.get(RECEIVER_LOCATOR);
+                            } else {
+                                receiverRejected = true;
+                            }
+                        }
+                    }
+                }
+            }
+            // Skip padding and sets we do not understand
+            buffer.position(setEnd);
+        }
+
+        if (receiverCallsign == null) {
+            if (receiverRejected) {
+                rejectedRecords += senders.size();
+                return List.of();
+            }
+            if (!senders.isEmpty()) {
+                throw new IllegalArgumentException(senders.size() + " sender records without a receiver record");
+            }
+            return senders;
+        }
+        double[] receiverPosition = Maidenhead.toLatLon(receiverLocator);
+        for (PSKReception reception : senders) {
+            reception.setReceiverCallsign(receiverCallsign);
+            if (receiverPosition != null) {
+                reception.setReceiverLatitude(receiverPosition[0]);
+                reception.setReceiverLongitude(receiverPosition[1]);
+            }
+        }
+        return senders;
+    }
+
+    private void readTemplates(String source, long domain, boolean options, ByteBuffer buffer, int setEnd) {
+        while (setEnd - buffer.position() >= 4) {
+            int templateId = buffer.getShort() & 0xFFFF;
+            int fieldCount = buffer.getShort() & 0xFFFF;
+            if (templateId < 256) {
+                // Padding at the end of the set
+                return;
+            }
+            TemplateKey key = new TemplateKey(source, domain, templateId);
+            if (fieldCount == 0) {
+                templates.remove(key);
+                continue;
+            }
+            if (options) {
+                buffer.getShort(); // scope field count
+            }
+            Field[] fields = new Field[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                int id = buffer.getShort() & 0xFFFF;
+                int length = buffer.getShort() & 0xFFFF;
+                long enterprise = 0;
+                if ((id & 0x8000) != 0) {
+                    id &= 0x7FFF;
+                    enterprise = buffer.getInt() & 0xFFFFFFFFL;
+                }
+                fields[i] = new Field(id, enterprise, length);
+            }
+            templates.put(key, fields);
+        }
+    }
+
+    private static boolean fitsColumns(Map<Integer, Object> values) {
+        for (Object value : values.values()) {
+            if (value instanceof String string && string.length() > MAX_STRING_LENGTH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int minRecordLength(Field[] fields) {
+        int length = 0;
+        for (Field field : fields) {
+            length += field.length() == VARIABLE_LENGTH ? 1 : field.length();
+        }
+        return length;
+    }
+
+    /**
+     * Read one data record, keeping the fields this parser knows.
+     */
+    private static Map<Integer, Object> readRecord(Field[] fields, ByteBuffer buffer) {
+        Map<Integer, Object> values = new HashMap<>();
+        for (Field field : fields) {
+            int length = field.length();
+            if (length == VARIABLE_LENGTH) {
+                length = buffer.get() & 0xFF;
+                if (length == 255) {
+                    length = buffer.getShort() & 0xFFFF;
+                }
+            }
+
+            if (field.enterprise() == PSKREPORTER_ENTERPRISE) {
+                switch (field.id()) {
+                    case SENDER_CALLSIGN, RECEIVER_CALLSIGN, SENDER_LOCATOR, RECEIVER_LOCATOR, MODE ->
+                        values.put(field.id(), readString(buffer, length));
+                    case FREQUENCY -> values.put(field.id(), readUnsigned(buffer, length));
+                    case SNR -> values.put(field.id(), (int) (byte) readUnsigned(buffer, length));
+                    default -> skip(buffer, length);
+                }
+            } else if (field.enterprise() == 0 && field.id() == FLOW_START_SECONDS) {
+                values.put(FLOW_START_SECONDS, readUnsigned(buffer, length));
+            } else {
+                skip(buffer, length);
+            }
+        }
+        return values;
+    }
+
+    private static PSKReception toReception(Map<Integer, Object> values, long exportTime) {
+        long seconds = (Long) values.getOrDefault(FLOW_START_SECONDS, exportTime);
+        PSKReception reception = PSKReception.builder()
+            .transmitterCallsign(((String) values.get(SENDER_CALLSIGN)).toUpperCase())
+            .frequency((Long) values.getOrDefault(FREQUENCY, 0L))
+            .snr((Integer) values.get(SNR))
+            .mode((String) values.get(MODE))
+            .timestamp(LocalDateTime.ofInstant(Instant.ofEpochSecond(seconds), ZoneId.systemDefault()))
+            .build();
+        double[] position = Maidenhead.toLatLon((String) values.get(SENDER_LOCATOR));
+        if (position != null) {
+            reception.setTransmitterLatitude(position[0]);
+            reception.setTransmitterLongitude(position[1]);
+        }
+        return reception;
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8).trim();
+    }
+
+    private static long readUnsigned(ByteBuffer buffer, int length) {
+        if (length > 8) {
+            throw new IllegalArgumentException("Numeric field of " + length + " bytes");
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (buffer.get() & 0xFF);
+        }
+        return value;
+    }
+
+    private static void skip(ByteBuffer buffer, int length) {
+        buffer.position(buffer.position() + length);
+    }
+}
@@ -0,0 +1,115 @@
+package com.pskreporter.log.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Mergeable summary of the receptions of one callsign, band and hour.
+ *
+ * Holds the spot count, a HyperLogLog of receiver callsigns, an exact SNR
+ * histogram and a relative-accuracy distance histogram. Aggregates of any set
+ * of hours or bands merge into one with the same error bounds, so long ranges
+ * are answered without reading raw reports. Not thread-safe; callers
+ * synchronize on the instance.
+ */
+public class PropagationAggregate {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int MIN_SNR = -50;
+    private static final int MAX_SNR = 60;
+
+    private long spots;
+    private final HyperLogLog receivers;
+    private final IntHistogram snr = new IntHistogram(MIN_SNR, MAX_SNR);
+    private final LogHistogram distance = new LogHistogram();
+
+    public PropagationAggregate() {
+        this(new HyperLogLog());
+    }
+
+    private PropagationAggregate(HyperLogLog receivers) {
+        this.receivers = receivers;
+    }
+
+    /**
+     * Add one reception.
+     */
+    public void add(String rxCallsign, Integer snrDb, Integer distanceKm) {
+        spots++;
+        receivers.add(rxCallsign);
+        if (snrDb != null) {
+            snr.add(snrDb);
+        }
+        if (distanceKm != null) {
+            distance.add(distanceKm);
+        }
+    }
+
+    /**
+     * Merge another aggregate into this one.
+     */
+    public void merge(PropagationAggregate other) {
+        spots += other.spots;
+        receivers.merge(other.receivers);
+        snr.merge(other.snr);
+        distance.merge(other.distance);
+    }
+
+    public long getSpots() {
+        return spots;
+    }
+
+    public PropagationStats toStats() {
+        Double distanceP50 = distance.quantile(0.5);
+        Double distanceP90 = distance.quantile(0.9);
+        return new PropagationStats(
+            spots,
+            receivers.estimate(),
+            snr.quantile(0.5),
+            snr.quantile(0.9),
+            distanceP50 != null ? (int) Math.round(distanceP50) : null,
+            distanceP90 != null ? (int) Math.round(distanceP90) : null
+        );
+    }
+
+    /**
+     * Serialize to a compact binary form for storage.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(spots);
+            receivers.writeTo(out);
+            snr.writeTo(out);
+            distance.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restore an aggregate written by {@link #encode()}.
+     */
+    public static PropagationAggregate decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch format " + version);
+            }
+            long spots = in.readLong();
+            PropagationAggregate aggregate = new PropagationAggregate(HyperLogLog.readFrom(in));
+            aggregate.spots = spots;
+            aggregate.snr.readFrom(in);
+            aggregate.distance.readFrom(in);
+            return aggregate;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
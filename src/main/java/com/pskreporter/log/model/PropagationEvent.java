@@ -0,0 +1,31 @@
+package com.pskreporter.log.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A detected band opening: the spot rate on a band between two regions rose
+ * well above its recent baseline.
+ *
+ * @param band               band of the path
+ * @param from               transmitter region
+ * @param to                 receiver region
+ * @param windowSpots        spots on the path in the detection window
+ * @param windowMinutes      length of the detection window
+ * @param baselinePerMinute  average spots per minute before the window
+ * @param detectedAt         when the opening was detected
+ */
+public record PropagationEvent(Band band, Region from, Region to,
+                               int windowSpots, int windowMinutes,
+                               double baselinePerMinute, LocalDateTime detectedAt) {
+
+    public double ratePerMinute() {
+        return (double) windowSpots / windowMinutes;
+    }
+
+    /**
+     * Key identifying the path, e.g. "20m:NA-AS".
+     */
+    public String pathKey() {
+        return band.getLabel() + ":" + from + "-" + to;
+    }
+}
@@ -0,0 +1,16 @@
+package com.pskreporter.log.model;
+
+/**
+ * Propagation summary of a callsign over a time range, computed from hourly sketches.
+ *
+ * @param spots             number of receptions (exact)
+ * @param distinctReceivers estimated number of distinct receivers (about 3% standard error)
+ * @param snrP50            median SNR in dB (exact)
+ * @param snrP90            90th percentile SNR in dB (exact)
+ * @param distanceP50       median distance in km (within 2%)
+ * @param distanceP90       90th percentile distance in km (within 2%)
+ */
+public record PropagationStats(long spots, long distinctReceivers,
+                               Integer snrP50, Integer snrP90,
+                               Integer distanceP50, Integer distanceP90) {
+}
@@ -0,0 +1,25 @@
+package com.pskreporter.log.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a reception report.
+ * Queries select straight into this record, so read traffic never hydrates
+ * managed entities or touches the persistence context.
+ */
+public record ReceptionReportSummary(
+    Long id,
+    String txCallsign,
+    String rxCallsign,
+    Long frequency,
+    Integer snr,
+    String mode,
+    Double txLatitude,
+    Double txLongitude,
+    Double rxLatitude,
+    Double rxLongitude,
+    Integer distance,
+    LocalDateTime timestamp,
+    Boolean alertSent
+) {
+}
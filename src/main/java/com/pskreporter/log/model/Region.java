@@ -0,0 +1,63 @@
+package com.pskreporter.log.model;
+
+/**
+ * Continents used to group propagation paths, located from coarse
+ * latitude/longitude boxes. Good enough to tell paths such as NA to AS
+ * apart; stations near the borders may land on either side.
+ */
+public enum Region {
+
+    NA("North America"),
+    SA("South America"),
+    EU("Europe"),
+    AF("Africa"),
+    AS("Asia"),
+    OC("Oceania");
+
+    private final String displayName;
+
+    Region(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Find the region of a location, or null if it is outside all of them
+     * (e.g. Antarctica or open ocean).
+     */
+    public static Region fromLatLon(double latitude, double longitude) {
+        if (latitude < -60 || latitude > 85) {
+            return null;
+        }
+        if (longitude < -130 && latitude < 30) {
+            // Hawaii and the central Pacific count as Oceania
+            return OC;
+        }
+        if (longitude < -25) {
+            if (latitude >= 8) {
+                return NA;
+            }
+            return longitude >= -95 ? SA : null;
+        }
+        if (latitude >= 36 && longitude < 45) {
+            return EU;
+        }
+        if (latitude >= 12 && longitude >= 34 && longitude < 63) {
+            // Middle East
+            return AS;
+        }
+        if (longitude < 52 && latitude < 38) {
+            return AF;
+        }
+        if (longitude >= 110 && latitude < 0) {
+            return OC;
+        }
+        if (latitude >= -11) {
+            return AS;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.pskreporter.log.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for searching reception reports. Null fields are not filtered on.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportQuery {
+
+    private String txCallsign;
+    private String rxCallsign;
+    private Band band;
+    private String mode;
+    private Integer minSnr;
+    private Integer maxSnr;
+    private Integer minDistance;
+    private Integer maxDistance;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Builder.Default
+    private int limit = 100;
+}
@@ -0,0 +1,167 @@
+package com.pskreporter.log.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Grid pyramid of spot aggregates in Web Mercator tile coordinates.
+ *
+ * A spot is added to one cell on every zoom level from 0 to maxZoom, where
+ * each map tile is split into {@value #CELLS_PER_SIDE} x {@value #CELLS_PER_SIDE}
+ * cells. Reading a tile therefore touches at most 64 cells, whatever the number
+ * of spots, and adding a spot costs maxZoom + 1 updates. Not thread-safe;
+ * callers synchronize on the instance.
+ */
+public class SpotPyramid {
+
+    public static final int CELL_BITS = 3;
+    public static final int CELLS_PER_SIDE = 1 << CELL_BITS;
+    public static final int CELLS_PER_TILE = CELLS_PER_SIDE * CELLS_PER_SIDE;
+
+    /**
+     * Deepest zoom whose cell coordinates fit the 29 bits per axis of a cell key.
+     */
+    public static final int MAX_ZOOM = 29 - CELL_BITS;
+
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final int maxZoom;
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    public SpotPyramid(int maxZoom) {
+        if (maxZoom < 0 || maxZoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("Max zoom must be between 0 and " + MAX_ZOOM);
+        }
+        this.maxZoom = maxZoom;
+    }
+
+    /**
+     * Aggregate of the spots in one cell.
+     */
+    public static final class Cell {
+
+        private int count;
+        private int bestSnr = Integer.MIN_VALUE;
+        private double latitudeSum;
+        private double longitudeSum;
+
+        public void add(double latitude, double longitude, Integer snr) {
+            count++;
+            latitudeSum += latitude;
+            longitudeSum += longitude;
+            if (snr != null && snr > bestSnr) {
+                bestSnr = snr;
+            }
+        }
+
+        public void merge(Cell other) {
+            count += other.count;
+            latitudeSum += other.latitudeSum;
+            longitudeSum += other.longitudeSum;
+            bestSnr = Math.max(bestSnr, other.bestSnr);
+        }
+
+        public Cell copy() {
+            Cell copy = new Cell();
+            copy.merge(this);
+            return copy;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public TileCluster toCluster() {
+            return new TileCluster(
+                latitudeSum / count,
+                longitudeSum / count,
+                count,
+                bestSnr != Integer.MIN_VALUE ? bestSnr : null
+            );
+        }
+    }
+
+    /**
+     * Add a spot at a location.
+     */
+    public void add(double latitude, double longitude, Integer snr) {
+        double x = mercatorX(longitude);
+        double y = mercatorY(latitude);
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            int level = zoom + CELL_BITS;
+            long key = key(level, cellIndex(x, level), cellIndex(y, level));
+            cells.computeIfAbsent(key, k -> new Cell()).add(latitude, longitude, snr);
+        }
+    }
+
+    /**
+     * Merge copies of the cells of tile (z, x, y) into the map, keyed by
+     * their position within the tile (0 to 63).
+     */
+    public void collectTile(int z, int x, int y, Map<Integer, Cell> into) {
+        int level = z + CELL_BITS;
+        int firstX = x << CELL_BITS;
+        int firstY = y << CELL_BITS;
+        for (int dx = 0; dx < CELLS_PER_SIDE; dx++) {
+            for (int dy = 0; dy < CELLS_PER_SIDE; dy++) {
+                Cell cell = cells.get(key(level, firstX + dx, firstY + dy));
+                if (cell != null) {
+                    into.computeIfAbsent(dx * CELLS_PER_SIDE + dy, position -> new Cell()).merge(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Position (0 to 63) of a location within tile (z, x, y), or -1 if it lies outside the tile.
+     */
+    public static int cellOf(int z, int x, int y, double latitude, double longitude) {
+        int level = z + CELL_BITS;
+        int dx = cellIndex(mercatorX(longitude), level) - (x << CELL_BITS);
+        int dy = cellIndex(mercatorY(latitude), level) - (y << CELL_BITS);
+        if (dx < 0 || dx >= CELLS_PER_SIDE || dy < 0 || dy >= CELLS_PER_SIDE) {
+            return -1;
+        }
+        return dx * CELLS_PER_SIDE + dy;
+    }
+
+    /**
+     * Latitude of the northern edge of tile row y at zoom z.
+     */
+    public static double tileLatitude(int z, int y) {
+        double n = Math.PI * (1 - 2.0 * y / (1L << z));
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    /**
+     * Longitude of the western edge of tile column x at zoom z.
+     */
+    public static double tileLongitude(int z, int x) {
+        return 360.0 * x / (1L << z) - 180;
+    }
+
+    /**
+     * Normalized Web Mercator x in [0, 1).
+     */
+    static double mercatorX(double longitude) {
+        return (longitude + 180) / 360;
+    }
+
+    /**
+     * Normalized Web Mercator y in [0, 1), 0 at the top.
+     */
+    static double mercatorY(double latitude) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double radians = Math.toRadians(clamped);
+        return (1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2;
+    }
+
+    private static int cellIndex(double normalized, int level) {
+        int cells = 1 << level;
+        return Math.min(Math.max((int) Math.floor(normalized * cells), 0), cells - 1);
+    }
+
+    private static long key(int level, int cellX, int cellY) {
+        return ((long) level << 58) | ((long) cellX << 29) | cellY;
+    }
+}
@@ -0,0 +1,241 @@
+package com.pskreporter.log.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Inverted index from callsign to the subscription rules watching it.
+ *
+ * Exact callsigns map to an immutable {@link RuleSet} of parallel primitive
+ * arrays, so a spot costs one hash lookup plus a scan of the rules for that
+ * callsign, independent of the total number of subscriptions. Adding or
+ * removing a rule copies only the rule set of its own callsign.
+ *
+ * Pattern rules ("VK*", "*&#47;P") are compiled into a
+ * {@link CallsignPatternMatcher} whose pattern ids index their rule sets.
+ * Changing a pattern rule recompiles the matcher, which is cheap because
+ * patterns are far fewer than exact callsigns.
+ *
+ * Lookups are lock-free; updates are safe to call from several threads.
+ */
+public class SubscriptionIndex {
+
+    private final Map<String, RuleSet> exact = new ConcurrentHashMap<>();
+
+    // Pattern rule sets, guarded by this; published through the volatile snapshot
+    private final Map<String, RuleSet> patternRules = new HashMap<>();
+    private volatile Patterns patterns = new Patterns(CallsignPatternMatcher.empty(), new RuleSet[0]);
+
+    private record Patterns(CallsignPatternMatcher matcher, RuleSet[] rules) {
+    }
+
+    /**
+     * Replace the whole index, e.g. on startup.
+     */
+    public synchronized void load(Collection<SubscriptionRule> rules) {
+        Map<String, List<SubscriptionRule>> exactRules = new HashMap<>();
+        Map<String, List<SubscriptionRule>> wildcardRules = new HashMap<>();
+        for (SubscriptionRule rule : rules) {
+            Map<String, List<SubscriptionRule>> target =
+                CallsignPatternMatcher.isLiteral(rule.callsign()) ? exactRules : wildcardRules;
+            target.computeIfAbsent(rule.callsign(), callsign -> new ArrayList<>()).add(rule);
+        }
+
+        exact.clear();
+        exactRules.forEach((callsign, list) -> exact.put(callsign, RuleSet.of(list)));
+        patternRules.clear();
+        wildcardRules.forEach((pattern, list) -> patternRules.put(pattern, RuleSet.of(list)));
+        recompilePatterns();
+    }
+
+    /**
+     * Add a rule, or replace the rule with the same subscription id.
+     */
+    public void add(SubscriptionRule rule) {
+        if (CallsignPatternMatcher.isLiteral(rule.callsign())) {
+            exact.compute(rule.callsign(), (callsign, rules) ->
+                rules == null ? RuleSet.of(List.of(rule)) : rules.with(rule));
+            return;
+        }
+        synchronized (this) {
+            patternRules.compute(rule.callsign(), (pattern, rules) ->
+                rules == null ? RuleSet.of(List.of(rule)) : rules.with(rule));
+            recompilePatterns();
+        }
+    }
+
+    /**
+     * Remove the rule of a subscription.
+     */
+    public void remove(SubscriptionRule rule) {
+        if (CallsignPatternMatcher.isLiteral(rule.callsign())) {
+            exact.computeIfPresent(rule.callsign(), (callsign, rules) -> rules.without(rule.subscriptionId()));
+            return;
+        }
+        synchronized (this) {
+            if (patternRules.containsKey(rule.callsign())) {
+                patternRules.computeIfPresent(rule.callsign(), (pattern, rules) -> rules.without(rule.subscriptionId()));
+                recompilePatterns();
+            }
+        }
+    }
+
+    /**
+     * Check whether any rule watches a callsign, whatever its thresholds.
+     */
+    public boolean hasSubscriptions(String callsign) {
+        return exact.containsKey(callsign) || patterns.matcher().matches(callsign);
+    }
+
+    /**
+     * Call the consumer with the subscriber id of every rule a spot triggers.
+     * A subscriber with several matching rules is reported once per rule.
+     */
+    public void forEachTriggered(String callsign, Integer snr, Integer distance, LongConsumer subscribers) {
+        RuleSet rules = exact.get(callsign);
+        if (rules != null) {
+            rules.forEachTriggered(snr, distance, subscribers);
+        }
+        Patterns current = patterns;
+        if (current.rules().length > 0) {
+            current.matcher().forEachMatch(callsign, id -> current.rules()[id].forEachTriggered(snr, distance, subscribers));
+        }
+    }
+
+    /**
+     * Subscribers to alert for a spot, each once.
+     */
+    public Set<Long> triggeredSubscribers(String callsign, Integer snr, Integer distance) {
+        Set<Long> subscribers = new LinkedHashSet<>();
+        forEachTriggered(callsign, snr, distance, subscribers::add);
+        return subscribers;
+    }
+
+    /**
+     * Number of indexed rules.
+     */
+    public int size() {
+        int size = 0;
+        for (RuleSet rules : exact.values()) {
+            size += rules.size();
+        }
+        synchronized (this) {
+            for (RuleSet rules : patternRules.values()) {
+                size += rules.size();
+            }
+        }
+        return size;
+    }
+
+    private void recompilePatterns() {
+        List<String> keys = new ArrayList<>(patternRules.keySet());
+        RuleSet[] rules = new RuleSet[keys.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = patternRules.get(keys.get(i));
+        }
+        patterns = new Patterns(CallsignPatternMatcher.compile(keys), rules);
+    }
+
+    /**
+     * Immutable rules of one callsign or pattern, as parallel arrays.
+     */
+    private static final class RuleSet {
+
+        private final long[] subscriptionIds;
+        private final long[] subscriberIds;
+        private final int[] snrThresholds;
+        private final int[] distanceThresholds;
+
+        private RuleSet(long[] subscriptionIds, long[] subscriberIds, int[] snrThresholds, int[] distanceThresholds) {
+            this.subscriptionIds = subscriptionIds;
+            this.subscriberIds = subscriberIds;
+            this.snrThresholds = snrThresholds;
+            this.distanceThresholds = distanceThresholds;
+        }
+
+        static RuleSet of(List<SubscriptionRule> rules) {
+            int size = rules.size();
+            RuleSet set = new RuleSet(new long[size], new long[size], new int[size], new int[size]);
+            for (int i = 0; i < size; i++) {
+                set.put(i, rules.get(i));
+            }
+            return set;
+        }
+
+        int size() {
+            return subscriptionIds.length;
+        }
+
+        RuleSet with(SubscriptionRule rule) {
+            int index = indexOf(rule.subscriptionId());
+            int size = index >= 0 ? size() : size() + 1;
+            RuleSet copy = new RuleSet(
+                Arrays.copyOf(subscriptionIds, size),
+                Arrays.copyOf(subscriberIds, size),
+                Arrays.copyOf(snrThresholds, size),
+                Arrays.copyOf(distanceThresholds, size)
+            );
+            copy.put(index >= 0 ? index : size - 1, rule);
+            return copy;
+        }
+
+        /**
+         * Copy without the given subscription, or null if none is left.
+         */
+        RuleSet without(long subscriptionId) {
+            int index = indexOf(subscriptionId);
+            if (index < 0) {
+                return this;
+            }
+            int size = size() - 1;
+            if (size == 0) {
+                return null;
+            }
+            RuleSet copy = new RuleSet(new long[size], new long[size], new int[size], new int[size]);
+            for (int from = 0, to = 0; from <= size; from++) {
+                if (from != index) {
+                    copy.subscriptionIds[to] = subscriptionIds[from];
+                    copy.subscriberIds[to] = subscriberIds[from];
+                    copy.snrThresholds[to] = snrThresholds[from];
+                    copy.distanceThresholds[to] = distanceThresholds[from];
+                    to++;
+                }
+            }
+            return copy;
+        }
+
+        void forEachTriggered(Integer snr, Integer distance, LongConsumer subscribers) {
+            int snrValue = snr != null ? snr : Integer.MIN_VALUE;
+            int distanceValue = distance != null ? distance : Integer.MIN_VALUE;
+            for (int i = 0; i < subscriptionIds.length; i++) {
+                if (snrValue >= snrThresholds[i] || distanceValue >= distanceThresholds[i]) {
+                    subscribers.accept(subscriberIds[i]);
+                }
+            }
+        }
+
+        private void put(int index, SubscriptionRule rule) {
+            subscriptionIds[index] = rule.subscriptionId();
+            subscriberIds[index] = rule.subscriberId();
+            snrThresholds[index] = rule.snrThreshold();
+            distanceThresholds[index] = rule.distanceThreshold();
+        }
+
+        private int indexOf(long subscriptionId) {
+            for (int i = 0; i < subscriptionIds.length; i++) {
+                if (subscriptionIds[i] == subscriptionId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.pskreporter.log.model;
+
+/**
+ * Subscription as evaluated by the {@link SubscriptionIndex}: a spot of a
+ * matching callsign triggers it when the SNR or the distance reaches its threshold.
+ *
+ * @param subscriptionId    subscription id
+ * @param subscriberId      subscriber to alert
+ * @param callsign          normalized callsign or pattern
+ * @param snrThreshold      SNR threshold in dB
+ * @param distanceThreshold distance threshold in km
+ */
+public record SubscriptionRule(long subscriptionId, long subscriberId, String callsign,
+                               int snrThreshold, int distanceThreshold) {
+}
@@ -0,0 +1,20 @@
+package com.pskreporter.log.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Clustered spots of one map tile over a time range. Holds at most 64
+ * clusters, however many spots fall into the tile.
+ *
+ * @param z        zoom level
+ * @param x        tile column
+ * @param y        tile row
+ * @param from     start of the range, aligned to the tile bucket size
+ * @param to       end of the range
+ * @param spots    total spots in the tile
+ * @param clusters clusters, largest first
+ */
+public record TileAggregate(int z, int x, int y, LocalDateTime from, LocalDateTime to,
+                            long spots, List<TileCluster> clusters) {
+}
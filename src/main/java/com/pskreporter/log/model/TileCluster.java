@@ -0,0 +1,12 @@
+package com.pskreporter.log.model;
+
+/**
+ * Spots of one cell of a map tile, collapsed into a single marker.
+ *
+ * @param latitude  centroid latitude of the receivers
+ * @param longitude centroid longitude of the receivers
+ * @param count     number of spots
+ * @param bestSnr   highest SNR in dB, or null if no spot had one
+ */
+public record TileCluster(double latitude, double longitude, int count, Integer bestSnr) {
+}
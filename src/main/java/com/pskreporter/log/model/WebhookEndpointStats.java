@@ -0,0 +1,18 @@
+package com.pskreporter.log.model;
+
+/**
+ * Delivery counters of one webhook endpoint since startup.
+ *
+ * @param url              endpoint URL
+ * @param queued           alerts queued or in flight
+ * @param delivered        alerts acknowledged with a 2xx response
+ * @param failed           alerts given up on after the last retry
+ * @param dropped          alerts rejected because the queue was full
+ * @param batches          successful POST requests
+ * @param retries          retried POST requests
+ * @param avgLatencyMs     mean time from queueing to acknowledgement
+ * @param maxLatencyMs     longest time from queueing to acknowledgement
+ */
+public record WebhookEndpointStats(String url, int queued, long delivered, long failed, long dropped,
+                                   long batches, long retries, double avgLatencyMs, long maxLatencyMs) {
+}
@@ -0,0 +1,29 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.entity.ClusterNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * JPA Repository for ClusterNode entities.
+ */
+@Repository
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    /**
+     * Count nodes that have sent a heartbeat since the given time
+     */
+    long countByLastHeartbeatAfter(Instant since);
+
+    /**
+     * Remove nodes that stopped sending heartbeats
+     */
+    @Modifying
+    @Query("DELETE FROM ClusterNode n WHERE n.lastHeartbeat < :before")
+    int deleteStale(@Param("before") Instant before);
+}
@@ -0,0 +1,34 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.entity.HourlySketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA Repository for HourlySketch entities.
+ */
+@Repository
+public interface HourlySketchRepository extends JpaRepository<HourlySketch, Long> {
+
+    /**
+     * Find the sketch for one callsign, band and hour
+     */
+    Optional<HourlySketch> findByCallsignAndBandAndHourStart(String callsign, String band, LocalDateTime hourStart);
+
+    /**
+     * Find a callsign's sketches for hours in [from, to), optionally limited to one band
+     */
+    @Query("SELECT s FROM HourlySketch s WHERE s.callsign = :callsign " +
+           "AND (:band IS NULL OR s.band = :band) " +
+           "AND s.hourStart >= :from AND s.hourStart < :to")
+    List<HourlySketch> findRange(@Param("callsign") String callsign,
+                                 @Param("band") String band,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,21 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.entity.LeaderboardSnapshot;
+import com.pskreporter.log.model.LeaderboardMetric;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * JPA Repository for LeaderboardSnapshot entities.
+ */
+@Repository
+public interface LeaderboardSnapshotRepository extends JpaRepository<LeaderboardSnapshot, Long> {
+
+    /**
+     * Find the snapshot for one callsign, day and metric
+     */
+    Optional<LeaderboardSnapshot> findByCallsignAndReportDateAndMetric(String callsign, LocalDate reportDate, LeaderboardMetric metric);
+}
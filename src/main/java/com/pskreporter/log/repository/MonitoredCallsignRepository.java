@@ -2,8 +2,12 @@ package com.pskreporter.log.repository;
 
 import com.pskreporter.log.entity.MonitoredCallsign;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,8 +27,27 @@ public interface MonitoredCallsignRepository extends JpaRepository<MonitoredCall
      */
     List<MonitoredCallsign> findByActiveTrue();
 
+    /**
+     * Find the callsign strings of all active entries
+     */
+    @Query("SELECT m.callsign FROM MonitoredCallsign m WHERE m.active = true")
+    List<String> findActiveCallsigns();
+
     /**
      * Check if a callsign is being monitored
      */
     boolean existsByCallsignAndActiveTrue(String callsign);
+
+    /**
+     * Find which of the given callsigns already exist, active or not
+     */
+    @Query("SELECT m.callsign FROM MonitoredCallsign m WHERE m.callsign IN :callsigns")
+    List<String> findExistingCallsigns(@Param("callsigns") Collection<String> callsigns);
+
+    /**
+     * Re-activate any of the given callsigns that were deactivated
+     */
+    @Modifying
+    @Query("UPDATE MonitoredCallsign m SET m.active = true WHERE m.callsign IN :callsigns AND m.active = false")
+    int activateAll(@Param("callsigns") Collection<String> callsigns);
 }
@@ -0,0 +1,66 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.entity.PartitionLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JPA Repository for PartitionLease entities.
+ * All ownership changes are conditional updates, so concurrent nodes can race
+ * for the same partition and exactly one of them wins.
+ */
+@Repository
+public interface PartitionLeaseRepository extends JpaRepository<PartitionLease, Integer> {
+
+    /**
+     * Find the partitions currently leased to a node
+     */
+    @Query("SELECT l.partitionId FROM PartitionLease l WHERE l.ownerId = :ownerId ORDER BY l.partitionId")
+    List<Integer> findPartitionIdsByOwner(@Param("ownerId") String ownerId);
+
+    /**
+     * Find partitions that are unowned or whose lease has expired
+     */
+    @Query("SELECT l.partitionId FROM PartitionLease l " +
+           "WHERE l.ownerId IS NULL OR l.leaseUntil < :now ORDER BY l.partitionId")
+    List<Integer> findClaimable(@Param("now") Instant now);
+
+    /**
+     * Extend all leases still held by a node
+     */
+    @Modifying
+    @Query("UPDATE PartitionLease l SET l.leaseUntil = :until WHERE l.ownerId = :ownerId")
+    int renew(@Param("ownerId") String ownerId, @Param("until") Instant until);
+
+    /**
+     * Take a partition if it is unowned or its lease has expired
+     */
+    @Modifying
+    @Query("UPDATE PartitionLease l SET l.ownerId = :ownerId, l.leaseUntil = :until " +
+           "WHERE l.partitionId = :partitionId AND (l.ownerId IS NULL OR l.leaseUntil < :now)")
+    int claim(@Param("partitionId") Integer partitionId,
+              @Param("ownerId") String ownerId,
+              @Param("until") Instant until,
+              @Param("now") Instant now);
+
+    /**
+     * Give up a partition held by a node
+     */
+    @Modifying
+    @Query("UPDATE PartitionLease l SET l.ownerId = NULL, l.leaseUntil = NULL " +
+           "WHERE l.partitionId = :partitionId AND l.ownerId = :ownerId")
+    int release(@Param("partitionId") Integer partitionId, @Param("ownerId") String ownerId);
+
+    /**
+     * Give up every partition held by a node
+     */
+    @Modifying
+    @Query("UPDATE PartitionLease l SET l.ownerId = NULL, l.leaseUntil = NULL WHERE l.ownerId = :ownerId")
+    int releaseAll(@Param("ownerId") String ownerId);
+}
@@ -0,0 +1,17 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.model.ReceptionReportSummary;
+import com.pskreporter.log.model.ReportQuery;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for filtered, projection-only report queries.
+ */
+public interface ReceptionReportQueryRepository {
+
+    /**
+     * Find report summaries matching the query, newest first
+     */
+    List<ReceptionReportSummary> search(ReportQuery query);
+}
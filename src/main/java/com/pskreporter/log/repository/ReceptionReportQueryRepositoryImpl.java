@@ -0,0 +1,92 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.ReceptionReportSummary;
+import com.pskreporter.log.model.ReportQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria-based implementation of {@link ReceptionReportQueryRepository}.
+ * Only the filters that are set become predicates, so each query shape can use
+ * the matching composite index: (txCallsign, timestamp) for callsign queries,
+ * (rxCallsign, timestamp) for receiver queries and (timestamp) otherwise.
+ */
+public class ReceptionReportQueryRepositoryImpl implements ReceptionReportQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReceptionReportSummary> search(ReportQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReceptionReportSummary> cq = cb.createQuery(ReceptionReportSummary.class);
+        Root<ReceptionReport> r = cq.from(ReceptionReport.class);
+
+        cq.select(cb.construct(ReceptionReportSummary.class,
+            r.get("id"),
+            r.get("txCallsign"),
+            r.get("rxCallsign"),
+            r.get("frequency"),
+            r.get("snr"),
+            r.get("mode"),
+            r.get("txLatitude"),
+            r.get("txLongitude"),
+            r.get("rxLatitude"),
+            r.get("rxLongitude"),
+            r.get("distance"),
+            r.get("timestamp"),
+            r.get("alertSent")
+        ));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.getTxCallsign() != null) {
+            predicates.add(cb.equal(r.get("txCallsign"), query.getTxCallsign()));
+        }
+        if (query.getRxCallsign() != null) {
+            predicates.add(cb.equal(r.get("rxCallsign"), query.getRxCallsign()));
+        }
+        if (query.getBand() != null) {
+            predicates.add(cb.between(r.<Long>get("frequency"),
+                query.getBand().getLowerHz(), query.getBand().getUpperHz()));
+        }
+        if (query.getMode() != null) {
+            predicates.add(cb.equal(r.get("mode"), query.getMode()));
+        }
+        if (query.getMinSnr() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(r.<Integer>get("snr"), query.getMinSnr()));
+        }
+        if (query.getMaxSnr() != null) {
+            predicates.add(cb.lessThanOrEqualTo(r.<Integer>get("snr"), query.getMaxSnr()));
+        }
+        if (query.getMinDistance() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(r.<Integer>get("distance"), query.getMinDistance()));
+        }
+        if (query.getMaxDistance() != null) {
+            predicates.add(cb.lessThanOrEqualTo(r.<Integer>get("distance"), query.getMaxDistance()));
+        }
+        if (query.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(r.<LocalDateTime>get("timestamp"), query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            predicates.add(cb.lessThan(r.<LocalDateTime>get("timestamp"), query.getTo()));
+        }
+
+        cq.where(predicates.toArray(new Predicate[0]));
+        cq.orderBy(cb.desc(r.get("timestamp")), cb.desc(r.get("id")));
+
+        return entityManager.createQuery(cq)
+            .setMaxResults(query.getLimit())
+            .setHint(AvailableHints.HINT_FETCH_SIZE, query.getLimit())
+            .getResultList();
+    }
+}
@@ -1,19 +1,34 @@
 package com.pskreporter.log.repository;
 
 import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.ReceptionReportSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * JPA Repository for ReceptionReport entities.
  */
 @Repository
-public interface ReceptionReportRepository extends JpaRepository<ReceptionReport, Long> {
+public interface ReceptionReportRepository extends JpaRepository<ReceptionReport, Long>, ReceptionReportQueryRepository {
+
+    /**
+     * Find a single report as a read-only projection
+     */
+    @Query("SELECT new com.pskreporter.log.model.ReceptionReportSummary(" +
+           "r.id, r.txCallsign, r.rxCallsign, r.frequency, r.snr, r.mode, " +
+           "r.txLatitude, r.txLongitude, r.rxLatitude, r.rxLongitude, " +
+           "r.distance, r.timestamp, r.alertSent) " +
+           "FROM ReceptionReport r WHERE r.id = :id")
+    Optional<ReceptionReportSummary> findSummaryById(@Param("id") Long id);
 
     /**
      * Find all reports for a specific transmitter callsign
@@ -31,14 +46,72 @@ public interface ReceptionReportRepository extends JpaRepository<ReceptionReport
     List<ReceptionReport> findByTxCallsignAndTimestampAfter(String txCallsign, LocalDateTime since);
 
     /**
-     * Find reports that meet alert conditions but haven't had alerts sent
+     * Find reports that meet alert conditions but haven't had alerts sent.
+     * Results are keyset-ordered by id so callers can walk the backlog in
+     * chunks: pass the last id of the previous chunk as {@code afterId}.
+     * Callers check the transmitter callsign against the monitored patterns
+     * and settle the reports that no longer need an alert with
+     * {@link #markAlertSkipped}.
      */
-    @Query("SELECT r FROM ReceptionReport r WHERE r.txCallsign IN :callsigns " +
-           "AND r.alertSent = false " +
-           "AND (r.snr >= :snrThreshold OR r.distance >= :distanceThreshold)")
+    @Query("SELECT r FROM ReceptionReport r WHERE r.alertSent = false AND r.alertSkipped = false " +
+           "AND r.id > :afterId " +
+           "AND (r.snr >= :snrThreshold OR r.distance >= :distanceThreshold) " +
+           "ORDER BY r.id ASC")
     List<ReceptionReport> findReportsForAlert(
-        @Param("callsigns") List<String> callsigns,
         @Param("snrThreshold") int snrThreshold,
-        @Param("distanceThreshold") int distanceThreshold
+        @Param("distanceThreshold") int distanceThreshold,
+        @Param("afterId") long afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Same as {@link #findReportsForAlert}, restricted to the callsign
+     * partitions a cluster node owns. Reports stored before the partition
+     * column existed are included until {@link #assignPartition} fills it in.
+     */
+    @Query("SELECT r FROM ReceptionReport r WHERE r.alertSent = false AND r.alertSkipped = false " +
+           "AND (r.callsignPartition IN :partitions OR r.callsignPartition IS NULL) " +
+           "AND r.id > :afterId " +
+           "AND (r.snr >= :snrThreshold OR r.distance >= :distanceThreshold) " +
+           "ORDER BY r.id ASC")
+    List<ReceptionReport> findReportsForAlertInPartitions(
+        @Param("partitions") Collection<Integer> partitions,
+        @Param("snrThreshold") int snrThreshold,
+        @Param("distanceThreshold") int distanceThreshold,
+        @Param("afterId") long afterId,
+        Pageable pageable
     );
+
+    /**
+     * Settle reports that need no alert, e.g. of callsigns that are no longer
+     * monitored, so the recovery sweep stops revisiting them. Their
+     * {@code alertSent} flag stays false.
+     */
+    @Modifying
+    @Query("UPDATE ReceptionReport r SET r.alertSkipped = true WHERE r.id IN :ids AND r.alertSent = false")
+    int markAlertSkipped(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Fill in the callsign partition of reports stored before the column existed.
+     */
+    @Modifying
+    @Query("UPDATE ReceptionReport r SET r.callsignPartition = :partition " +
+           "WHERE r.id IN :ids AND r.callsignPartition IS NULL")
+    int assignPartition(@Param("partition") int partition, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically claim a report for alerting.
+     * Returns 1 if this caller flipped the flag, 0 if someone else already did.
+     */
+    @Modifying
+    @Query("UPDATE ReceptionReport r SET r.alertSent = true WHERE r.id = :id AND r.alertSent = false")
+    int markAlertSent(@Param("id") Long id);
+
+    /**
+     * Release a claim taken by {@link #markAlertSent} after a failed delivery,
+     * so the recovery sweep picks the report up again.
+     */
+    @Modifying
+    @Query("UPDATE ReceptionReport r SET r.alertSent = false WHERE r.id = :id")
+    int releaseAlertSent(@Param("id") Long id);
 }
@@ -0,0 +1,54 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.entity.SubscriberAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPA Repository for SubscriberAlert entities.
+ */
+@Repository
+public interface SubscriberAlertRepository extends JpaRepository<SubscriberAlert, Long> {
+
+    /**
+     * Find undelivered alerts, keyset-ordered by id like
+     * {@link ReceptionReportRepository#findReportsForAlert}.
+     */
+    @Query("SELECT a FROM SubscriberAlert a WHERE a.delivered = false AND a.id > :afterId ORDER BY a.id ASC")
+    List<SubscriberAlert> findPending(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Same as {@link #findPending}, restricted to the callsign partitions a
+     * cluster node owns.
+     */
+    @Query("SELECT a FROM SubscriberAlert a WHERE a.delivered = false " +
+           "AND a.callsignPartition IN :partitions " +
+           "AND a.id > :afterId ORDER BY a.id ASC")
+    List<SubscriberAlert> findPendingInPartitions(
+        @Param("partitions") Collection<Integer> partitions,
+        @Param("afterId") long afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Atomically claim alerts for delivery, or settle alerts that are no
+     * longer due. Returns the number of alerts this caller flipped.
+     */
+    @Modifying
+    @Query("UPDATE SubscriberAlert a SET a.delivered = true WHERE a.id IN :ids AND a.delivered = false")
+    int markDelivered(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Release a claim after a failed delivery, so the recovery sweep retries it.
+     */
+    @Modifying
+    @Query("UPDATE SubscriberAlert a SET a.delivered = false WHERE a.id = :id")
+    int release(@Param("id") Long id);
+}
@@ -0,0 +1,12 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.entity.Subscriber;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JPA Repository for Subscriber entities.
+ */
+@Repository
+public interface SubscriberRepository extends JpaRepository<Subscriber, Long> {
+}
@@ -0,0 +1,19 @@
+package com.pskreporter.log.repository;
+
+import com.pskreporter.log.entity.Subscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JPA Repository for Subscription entities.
+ */
+@Repository
+public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
+
+    /**
+     * Find all watchlist entries of a subscriber
+     */
+    List<Subscription> findBySubscriberId(Long subscriberId);
+}
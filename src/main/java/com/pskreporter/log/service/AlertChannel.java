@@ -0,0 +1,41 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.model.AlertMessage;
+
+import java.util.List;
+
+/**
+ * A way of delivering alerts, such as email or webhooks.
+ */
+public interface AlertChannel {
+
+    /**
+     * Channel name used in logs, e.g. "email".
+     */
+    String getName();
+
+    /**
+     * Whether a destination belongs to this channel, e.g. an email address
+     * or an http(s) URL. Alerts are routed to the first channel that accepts
+     * each destination.
+     */
+    boolean supports(String destination);
+
+    /**
+     * Whether the channel owns a message once it has been offered, retrying
+     * and counting failures itself. A failure of such a channel does not
+     * make the alert due again, which would repeat it on the other channels.
+     */
+    default boolean ownsDelivery() {
+        return false;
+    }
+
+    /**
+     * Deliver a message to destinations of this channel (addresses or URLs).
+     * Channels may deliver asynchronously; then success means the message was
+     * accepted for delivery.
+     *
+     * @return false if the message could not be delivered or accepted
+     */
+    boolean send(List<String> destinations, AlertMessage message);
+}
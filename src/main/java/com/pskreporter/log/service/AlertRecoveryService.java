@@ -0,0 +1,255 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.entity.SubscriberAlert;
+import com.pskreporter.log.repository.ReceptionReportRepository;
+import com.pskreporter.log.repository.SubscriberAlertRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Scheduled sweep that sends alerts the live ingest path missed, e.g. because
+ * the SMTP server was down or the process stopped between save and alert.
+ * The backlog is walked in keyset-ordered chunks, each in its own short
+ * transaction, with a pause between chunks so the sweep never starves ingest.
+ * Each run resumes where the previous one stopped and wraps around at the end.
+ * Reports of callsigns that are no longer monitored are marked as skipped, and
+ * in cluster mode only the owned partitions are read, so every pass only sees
+ * reports that still need an alert from this node. Reports stored before they
+ * had a partition are read by every node until the first one to see them
+ * fills the partition in; only the owner alerts on them.
+ *
+ * Subscriber alerts that could not be delivered, or did not fit in the
+ * delivery queue, are retried the same way from their own backlog.
+ *
+ * The sweep runs on its own thread, so its pauses and slow alert delivery
+ * never hold up the shared scheduler.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Lazy(false)
+@ConditionalOnProperty(prefix = "pskreporter.alert.recovery", name = "enabled", matchIfMissing = true)
+public class AlertRecoveryService {
+
+    private final ReceptionReportRepository reportRepository;
+    private final SubscriberAlertRepository subscriberAlertRepository;
+    private final SubscriptionService subscriptionService;
+    private final MonitoredCallsignService callsignService;
+    private final AlertService alertService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final PSKReporterConfig config;
+    private final TransactionTemplate transactionTemplate;
+
+    private long cursor = 0;
+    private long subscriberCursor = 0;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Start sweeping every {@code pskreporter.alert.recovery.interval-ms}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = config.getAlert().getRecovery().getIntervalMs();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "alert-recovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+            } catch (Exception e) {
+                log.error("Recovery sweep failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            // Interrupts the pause between chunks
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Sweep unalerted qualifying reports, up to the configured number of chunks per run.
+     */
+    public void sweep() {
+        if (!config.getAlert().isEnabled()) {
+            return;
+        }
+
+        // In cluster mode only the partitions this node owns are swept
+        Set<Integer> partitions = config.getCluster().isEnabled() ? clusterCoordinator.getOwnedPartitions() : null;
+        if (partitions != null && partitions.isEmpty()) {
+            return;
+        }
+
+        PSKReporterConfig.Recovery recovery = config.getAlert().getRecovery();
+        long afterId = cursor;
+        boolean reachedEnd = false;
+        int recovered = 0;
+
+        for (int chunk = 0; chunk < recovery.getMaxChunksPerRun(); chunk++) {
+            long chunkStart = afterId;
+            ChunkResult result = transactionTemplate.execute(
+                status -> processChunk(partitions, chunkStart, recovery.getChunkSize()));
+            if (result == null) {
+                break;
+            }
+
+            recovered += result.recovered();
+            afterId = result.lastId();
+
+            if (result.deliveryFailed()) {
+                log.warn("Alert delivery still failing, pausing recovery sweep after report {}", afterId);
+                break;
+            }
+            if (result.scanned() < recovery.getChunkSize()) {
+                reachedEnd = true;
+                break;
+            }
+
+            try {
+                Thread.sleep(recovery.getPauseBetweenChunksMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        cursor = reachedEnd ? 0 : afterId;
+
+        if (recovered > 0) {
+            log.info("Recovery sweep sent {} missed alerts", recovered);
+        }
+
+        sweepSubscriberAlerts(partitions, recovery);
+    }
+
+    /**
+     * Retry undelivered subscriber alerts, one chunk of alerts per iteration.
+     */
+    private void sweepSubscriberAlerts(Set<Integer> partitions, PSKReporterConfig.Recovery recovery) {
+        long afterId = subscriberCursor;
+        boolean reachedEnd = false;
+        int recovered = 0;
+
+        for (int chunk = 0; chunk < recovery.getMaxChunksPerRun(); chunk++) {
+            PageRequest page = PageRequest.of(0, recovery.getChunkSize());
+            List<SubscriberAlert> alerts = partitions == null
+                ? subscriberAlertRepository.findPending(afterId, page)
+                : subscriberAlertRepository.findPendingInPartitions(partitions, afterId, page);
+            Map<Long, ReceptionReport> reports = reportRepository
+                .findAllById(alerts.stream().map(SubscriberAlert::getReportId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(ReceptionReport::getId, Function.identity()));
+
+            boolean deliveryFailed = false;
+            for (SubscriberAlert alert : alerts) {
+                if (!subscriptionService.deliver(alert, reports.get(alert.getReportId()))) {
+                    deliveryFailed = true;
+                    break;
+                }
+                recovered++;
+                afterId = alert.getId();
+            }
+
+            if (deliveryFailed) {
+                log.warn("Subscriber alert delivery still failing, pausing recovery sweep after alert {}", afterId);
+                break;
+            }
+            if (alerts.size() < recovery.getChunkSize()) {
+                reachedEnd = true;
+                break;
+            }
+
+            try {
+                Thread.sleep(recovery.getPauseBetweenChunksMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        subscriberCursor = reachedEnd ? 0 : afterId;
+
+        if (recovered > 0) {
+            log.info("Recovery sweep handled {} pending subscriber alerts", recovered);
+        }
+    }
+
+    private ChunkResult processChunk(Set<Integer> partitions, long afterId, int chunkSize) {
+        int snrThreshold = config.getAlert().getSnrThreshold();
+        int distanceThreshold = config.getAlert().getDistanceThreshold();
+        PageRequest page = PageRequest.of(0, chunkSize);
+        List<ReceptionReport> reports = partitions == null
+            ? reportRepository.findReportsForAlert(snrThreshold, distanceThreshold, afterId, page)
+            : reportRepository.findReportsForAlertInPartitions(partitions, snrThreshold, distanceThreshold, afterId, page);
+
+        assignMissingPartitions(reports);
+
+        int recovered = 0;
+        long lastId = afterId;
+        List<Long> skipped = new ArrayList<>();
+        ChunkResult result = null;
+        for (ReceptionReport report : reports) {
+            String txCallsign = report.getTxCallsign();
+            if (!callsignService.isMonitored(txCallsign)) {
+                // No alert is due any more, e.g. the callsign was deactivated
+                skipped.add(report.getId());
+            } else if (clusterCoordinator.ownsCallsign(txCallsign)) {
+                if (!alertService.checkAndSendAlert(report)) {
+                    // Resume at this report on the next run
+                    result = new ChunkResult(reports.size(), lastId, recovered, true);
+                    break;
+                }
+                if (report.getAlertSent()) {
+                    recovered++;
+                }
+            }
+            lastId = report.getId();
+        }
+
+        if (!skipped.isEmpty()) {
+            reportRepository.markAlertSkipped(skipped);
+        }
+        return result != null ? result : new ChunkResult(reports.size(), lastId, recovered, false);
+    }
+
+    private void assignMissingPartitions(List<ReceptionReport> reports) {
+        Map<Integer, List<Long>> unassigned = new HashMap<>();
+        for (ReceptionReport report : reports) {
+            if (report.getCallsignPartition() == null) {
+                unassigned.computeIfAbsent(clusterCoordinator.partitionOf(report.getTxCallsign()),
+                    partition -> new ArrayList<>()).add(report.getId());
+            }
+        }
+        unassigned.forEach(reportRepository::assignPartition);
+    }
+
+    private record ChunkResult(int scanned, long lastId, int recovered, boolean deliveryFailed) {
+    }
+}
@@ -2,92 +2,251 @@ package com.pskreporter.log.service;
 
 import com.pskreporter.log.config.PSKReporterConfig;
 import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.entity.Subscriber;
+import com.pskreporter.log.model.AlertMessage;
+import com.pskreporter.log.model.PropagationEvent;
+import com.pskreporter.log.repository.ReceptionReportRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
- * Service to send email alerts when conditions are met.
+ * Service to send alerts when conditions are met.
+ * Each destination is routed to the {@link AlertChannel} that supports it,
+ * so email addresses go to the email channel and URLs to the webhook channel.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class AlertService {
 
-    private final JavaMailSender mailSender;
+    private final List<AlertChannel> channels;
     private final PSKReporterConfig config;
+    private final ReceptionReportRepository reportRepository;
 
     /**
      * Check if a reception report meets alert conditions and send an alert if needed.
+     * The report is claimed in the database before sending, so the live ingest path
+     * and the recovery sweep never alert twice for the same report.
+     *
+     * @return false if an alert was due but could not be delivered
      */
     @Transactional
-    public void checkAndSendAlert(ReceptionReport report) {
+    public boolean checkAndSendAlert(ReceptionReport report) {
         if (!config.getAlert().isEnabled()) {
             log.debug("Alerts are disabled");
-            return;
+            return true;
         }
 
         if (report.getAlertSent()) {
             log.debug("Alert already sent for report {}", report.getId());
-            return;
+            return true;
         }
 
         // Condition X: Check if SNR or distance exceeds thresholds
-        boolean alertConditionMet = false;
-        StringBuilder reason = new StringBuilder();
+        String reason = buildReason(report, config.getAlert().getSnrThreshold(), config.getAlert().getDistanceThreshold());
+        if (reason.isEmpty()) {
+            return true;
+        }
 
-        if (report.getSnr() != null && report.getSnr() >= config.getAlert().getSnrThreshold()) {
-            alertConditionMet = true;
-            reason.append(String.format("SNR %d dB exceeds threshold of %d dB. ", 
-                                       report.getSnr(), config.getAlert().getSnrThreshold()));
+        if (reportRepository.markAlertSent(report.getId()) == 0) {
+            log.debug("Alert for report {} already claimed", report.getId());
+            report.setAlertSent(true);
+            return true;
         }
 
-        if (report.getDistance() != null && report.getDistance() >= config.getAlert().getDistanceThreshold()) {
-            alertConditionMet = true;
-            reason.append(String.format("Distance %d km exceeds threshold of %d km. ", 
-                                       report.getDistance(), config.getAlert().getDistanceThreshold()));
+        if (!sendAlert(report, reason)) {
+            reportRepository.releaseAlertSent(report.getId());
+            return false;
         }
 
-        if (alertConditionMet) {
-            sendAlert(report, reason.toString());
-            report.setAlertSent(true);
+        report.setAlertSent(true);
+        return true;
+    }
+
+    /**
+     * Send a subscriber an alert for a report that triggered one of their rules.
+     *
+     * @return false if the alert could not be delivered
+     */
+    public boolean sendSubscriberAlert(Subscriber subscriber, ReceptionReport report) {
+        if (!config.getAlert().isEnabled()) {
+            log.debug("Alerts are disabled");
+            return true;
+        }
+
+        String reason = String.format("%s was spotted by %s. ", report.getTxCallsign(), report.getRxCallsign());
+        AlertMessage message = buildReportAlert(report, reason);
+        if (!deliver(message, destinations(listOf(subscriber.getEmail()), listOf(subscriber.getWebhookUrl())))) {
+            return false;
+        }
+        log.debug("Alert sent for callsign {} to subscriber {}", report.getTxCallsign(), subscriber.getId());
+        return true;
+    }
+
+    /**
+     * Send an alert for a detected band opening.
+     *
+     * @return false if the alert could not be delivered
+     */
+    public boolean sendPropagationAlert(PropagationEvent event) {
+        if (!config.getAlert().isEnabled()) {
+            log.debug("Alerts are disabled");
+            return true;
         }
+
+        if (!deliver(buildPropagationAlert(event), configuredDestinations())) {
+            return false;
+        }
+        log.info("Propagation alert sent for {} to {}", event.pathKey(), config.getAlert().getRecipients());
+        return true;
     }
 
     /**
-     * Send an email alert for a reception report.
+     * Send an alert for a reception report to the configured recipients.
      */
-    private void sendAlert(ReceptionReport report, String reason) {
-        try {
-            String subject = String.format("PSKReporter Alert: %s", report.getTxCallsign());
-            String body = buildAlertMessage(report, reason);
+    private boolean sendAlert(ReceptionReport report, String reason) {
+        AlertMessage message = buildReportAlert(report, reason);
+        if (!deliver(message, configuredDestinations())) {
+            return false;
+        }
+        log.info("Alert sent for callsign {} to {}",
+                 report.getTxCallsign(), config.getAlert().getRecipients());
+        return true;
+    }
 
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(config.getAlert().getRecipients().toArray(new String[0]));
-            message.setSubject(subject);
-            message.setText(body);
+    /**
+     * Hand a message to the channel of each destination.
+     *
+     * @return false if a channel that does not own its deliveries failed, so
+     *         the alert must be retried; failures of channels that own their
+     *         deliveries are logged but never cause a retry of the whole alert
+     */
+    private boolean deliver(AlertMessage message, List<String> destinations) {
+        Map<AlertChannel, List<String>> routed = new LinkedHashMap<>();
+        for (String destination : destinations) {
+            AlertChannel channel = channelFor(destination);
+            if (channel == null) {
+                log.warn("No alert channel for destination {}", destination);
+                continue;
+            }
+            routed.computeIfAbsent(channel, key -> new ArrayList<>()).add(destination);
+        }
 
-            mailSender.send(message);
-            log.info("Alert sent for callsign {} to {}", 
-                     report.getTxCallsign(), config.getAlert().getRecipients());
+        boolean delivered = true;
+        for (Map.Entry<AlertChannel, List<String>> entry : routed.entrySet()) {
+            AlertChannel channel = entry.getKey();
+            if (!channel.send(entry.getValue(), message)) {
+                log.warn("Failed to deliver {} alert for {} via {}", message.type(), message.key(), channel.getName());
+                if (!channel.ownsDelivery()) {
+                    delivered = false;
+                }
+            }
+        }
+        return delivered;
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to send alert email", e);
+    private AlertChannel channelFor(String destination) {
+        for (AlertChannel channel : channels) {
+            if (channel.supports(destination)) {
+                return channel;
+            }
         }
+        return null;
+    }
+
+    private List<String> configuredDestinations() {
+        return destinations(config.getAlert().getRecipients(), config.getAlert().getWebhookUrls());
+    }
+
+    private static List<String> destinations(List<String> emails, List<String> webhooks) {
+        List<String> destinations = new ArrayList<>();
+        if (emails != null) {
+            destinations.addAll(emails);
+        }
+        if (webhooks != null) {
+            destinations.addAll(webhooks);
+        }
+        return destinations;
+    }
+
+    private static List<String> listOf(String destination) {
+        return destination == null || destination.isBlank() ? List.of() : List.of(destination);
+    }
+
+    /**
+     * Describe which thresholds a report exceeds, or return an empty string if none.
+     */
+    private String buildReason(ReceptionReport report, int snrThreshold, int distanceThreshold) {
+        StringBuilder reason = new StringBuilder();
+
+        if (report.getSnr() != null && report.getSnr() >= snrThreshold) {
+            reason.append(String.format("SNR %d dB exceeds threshold of %d dB. ",
+                                       report.getSnr(), snrThreshold));
+        }
+
+        if (report.getDistance() != null && report.getDistance() >= distanceThreshold) {
+            reason.append(String.format("Distance %d km exceeds threshold of %d km. ",
+                                       report.getDistance(), distanceThreshold));
+        }
+
+        return reason.toString();
     }
 
     /**
-     * Build the alert message body.
+     * Build the alert for a band opening.
      */
-    private String buildAlertMessage(ReceptionReport report, String reason) {
-        return String.format("""
+    private AlertMessage buildPropagationAlert(PropagationEvent event) {
+        String subject = String.format("PSKReporter Propagation Alert: %s %s to %s",
+                                       event.band().getLabel(), event.from(), event.to());
+        String text = String.format("""
+            PSKReporter Propagation Alert
+
+            %s opened from %s to %s.
+
+            - Spots in the last %d minutes: %d (%.1f per minute)
+            - Baseline: %.2f spots per minute
+            - Detected: %s
+
+            This is an automated alert from PSKReporter Log.
+            """,
+            event.band().getLabel(),
+            event.from().getDisplayName(),
+            event.to().getDisplayName(),
+            event.windowMinutes(),
+            event.windowSpots(),
+            event.ratePerMinute(),
+            event.baselinePerMinute(),
+            event.detectedAt()
+        );
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("band", event.band().getLabel());
+        details.put("from", event.from().name());
+        details.put("to", event.to().name());
+        details.put("windowSpots", event.windowSpots());
+        details.put("windowMinutes", event.windowMinutes());
+        details.put("baselinePerMinute", event.baselinePerMinute());
+        return new AlertMessage("propagation", event.pathKey(), subject, text, event.detectedAt(), details);
+    }
+
+    /**
+     * Build the alert for a reception report.
+     */
+    private AlertMessage buildReportAlert(ReceptionReport report, String reason) {
+        String subject = String.format("PSKReporter Alert: %s", report.getTxCallsign());
+        String text = String.format("""
             PSKReporter Alert
-            
+
             Alert Condition Met: %s
-            
+
             Reception Details:
             - Transmitter: %s
             - Receiver: %s
@@ -96,10 +255,10 @@ public class AlertService {
             - SNR: %d dB
             - Distance: %d km
             - Timestamp: %s
-            
+
             Transmitter Location: %s
             Receiver Location: %s
-            
+
             This is an automated alert from PSKReporter Log.
             """,
             reason,
@@ -114,6 +273,19 @@ public class AlertService {
             formatLocation(report.getTxLatitude(), report.getTxLongitude()),
             formatLocation(report.getRxLatitude(), report.getRxLongitude())
         );
+
+        // Report id lets webhook receivers drop duplicates after a retried delivery
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("reportId", report.getId());
+        details.put("reason", reason.trim());
+        details.put("txCallsign", report.getTxCallsign());
+        details.put("rxCallsign", report.getRxCallsign());
+        details.put("frequency", report.getFrequency());
+        details.put("mode", report.getMode());
+        details.put("snr", report.getSnr());
+        details.put("distance", report.getDistance());
+        details.put("timestamp", report.getTimestamp());
+        return new AlertMessage("reception", report.getTxCallsign(), subject, text, LocalDateTime.now(), details);
     }
 
     /**
@@ -0,0 +1,226 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.model.Band;
+import com.pskreporter.log.model.PSKReception;
+import com.pskreporter.log.model.PropagationEvent;
+import com.pskreporter.log.model.Region;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects band openings from the full reception feed.
+ *
+ * Every reception is counted on its path (band x transmitter region x
+ * receiver region) in the current minute. Once a minute the counts move
+ * into a ring of per-minute buckets holding the detection window, and the
+ * minute that drops out of the window feeds an exponentially weighted moving
+ * average, the path's baseline. A path opens when its rate over the window
+ * reaches {@code factor} times the baseline. Counting a reception and rolling
+ * a bucket are O(1), and all state lives in fixed arrays sized by the number
+ * of paths, so cost does not depend on feed rate or callsign count.
+ *
+ * Every instance sees the full feed and keeps identical counts; in cluster
+ * mode only the owner of a path alerts for it. Alerts are sent from a
+ * separate thread, so a slow mail server never stalls the ingest thread.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Lazy(false)
+public class BandOpeningDetector {
+
+    private static final int REGIONS = Region.values().length;
+    private static final int PATHS = Band.values().length * REGIONS * REGIONS;
+    private static final int ALERT_QUEUE_SIZE = 1000;
+
+    private final PSKReporterConfig config;
+    private final AlertService alertService;
+    private final ClusterCoordinator clusterCoordinator;
+
+    private int windowMinutes;
+    private double smoothing;
+
+    // Per path: spots in the current minute, past minutes of the window and their sum
+    private int[] current;
+    private int[][] window;
+    private int[] windowSpots;
+    private double[] baseline;
+    private long[] lastAlertMinute;
+
+    private long currentMinute = -1;
+    private long minutesObserved;
+
+    private ExecutorService alertExecutor;
+
+    @PostConstruct
+    void init() {
+        PSKReporterConfig.BandOpening settings = config.getBandOpening();
+        windowMinutes = Math.max(settings.getWindowMinutes(), 1);
+        smoothing = 2.0 / (Math.max(settings.getBaselineMinutes(), 1) + 1);
+        current = new int[PATHS];
+        window = new int[windowMinutes][PATHS];
+        windowSpots = new int[PATHS];
+        baseline = new double[PATHS];
+        lastAlertMinute = new long[PATHS];
+        Arrays.fill(lastAlertMinute, Long.MIN_VALUE / 2);
+        alertExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(ALERT_QUEUE_SIZE),
+            runnable -> {
+                Thread thread = new Thread(runnable, "band-opening-alerts");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (task, executor) -> log.warn("Propagation alert queue full, dropping alert"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        alertExecutor.shutdown();
+    }
+
+    /**
+     * Count a reception on its path. Receptions without both locations or
+     * outside the amateur bands are ignored.
+     */
+    public void record(PSKReception reception) {
+        if (!config.getBandOpening().isEnabled()
+                || reception.getTransmitterLatitude() == null || reception.getTransmitterLongitude() == null
+                || reception.getReceiverLatitude() == null || reception.getReceiverLongitude() == null) {
+            return;
+        }
+        Band band = Band.fromFrequency(reception.getFrequency());
+        Region from = Region.fromLatLon(reception.getTransmitterLatitude(), reception.getTransmitterLongitude());
+        Region to = Region.fromLatLon(reception.getReceiverLatitude(), reception.getReceiverLongitude());
+        if (band == null || from == null || to == null) {
+            return;
+        }
+
+        List<PropagationEvent> events = record(band, from, to, nowMinute());
+        events.forEach(this::emit);
+    }
+
+    /**
+     * Roll the window even when no receptions arrive.
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void tick() {
+        if (!config.getBandOpening().isEnabled()) {
+            return;
+        }
+        advanceTo(nowMinute()).forEach(this::emit);
+    }
+
+    synchronized List<PropagationEvent> record(Band band, Region from, Region to, long minute) {
+        List<PropagationEvent> events = advanceTo(minute);
+        current[pathIndex(band, from, to)]++;
+        return events;
+    }
+
+    /**
+     * Close every minute up to (not including) the given one and return the
+     * openings detected at the end of each.
+     */
+    synchronized List<PropagationEvent> advanceTo(long minute) {
+        if (currentMinute < 0) {
+            currentMinute = minute;
+            return List.of();
+        }
+        if (minute <= currentMinute) {
+            return List.of();
+        }
+
+        List<PropagationEvent> events = new ArrayList<>();
+        // After a long gap every bucket is empty; no need to roll more than a full window
+        long steps = Math.min(minute - currentMinute, windowMinutes + 1L);
+        for (long step = 0; step < steps; step++) {
+            closeMinute(currentMinute + step, events);
+        }
+        currentMinute = minute;
+        return events;
+    }
+
+    private void closeMinute(long minute, List<PropagationEvent> events) {
+        PSKReporterConfig.BandOpening settings = config.getBandOpening();
+        int slot = (int) Math.floorMod(minute, (long) windowMinutes);
+        int[] bucket = window[slot];
+        minutesObserved++;
+        boolean warmedUp = minutesObserved > windowMinutes + settings.getBaselineMinutes();
+
+        for (int path = 0; path < PATHS; path++) {
+            int evicted = bucket[path];
+            int added = current[path];
+
+            // The minute leaving the window feeds the baseline, so the window never inflates it
+            baseline[path] += smoothing * (evicted - baseline[path]);
+            windowSpots[path] += added - evicted;
+            bucket[path] = added;
+            current[path] = 0;
+
+            if (warmedUp && isOpening(path, settings) && minute - lastAlertMinute[path] >= settings.getCooldownMinutes()) {
+                lastAlertMinute[path] = minute;
+                events.add(toEvent(path));
+            }
+        }
+    }
+
+    private boolean isOpening(int path, PSKReporterConfig.BandOpening settings) {
+        if (windowSpots[path] < settings.getMinSpots()) {
+            return false;
+        }
+        double rate = (double) windowSpots[path] / windowMinutes;
+        double reference = Math.max(baseline[path], settings.getMinBaselinePerMinute());
+        return rate >= settings.getFactor() * reference;
+    }
+
+    private PropagationEvent toEvent(int path) {
+        Band[] bands = Band.values();
+        Region[] regions = Region.values();
+        return new PropagationEvent(
+            bands[path / (REGIONS * REGIONS)],
+            regions[path / REGIONS % REGIONS],
+            regions[path % REGIONS],
+            windowSpots[path],
+            windowMinutes,
+            baseline[path],
+            LocalDateTime.now()
+        );
+    }
+
+    private void emit(PropagationEvent event) {
+        log.info("Band opening on {}: {} spots in {} min, baseline {}/min",
+                 event.pathKey(), event.windowSpots(), event.windowMinutes(),
+                 String.format("%.2f", event.baselinePerMinute()));
+        if (clusterCoordinator.ownsCallsign(event.pathKey())) {
+            alertExecutor.execute(() -> {
+                try {
+                    alertService.sendPropagationAlert(event);
+                } catch (Exception e) {
+                    log.error("Failed to send propagation alert for {}", event.pathKey(), e);
+                }
+            });
+        }
+    }
+
+    private static int pathIndex(Band band, Region from, Region to) {
+        return (band.ordinal() * REGIONS + from.ordinal()) * REGIONS + to.ordinal();
+    }
+
+    private static long nowMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+}
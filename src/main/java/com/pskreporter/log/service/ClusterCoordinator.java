@@ -0,0 +1,259 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ClusterNode;
+import com.pskreporter.log.entity.PartitionLease;
+import com.pskreporter.log.repository.ClusterNodeRepository;
+import com.pskreporter.log.repository.PartitionLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinates callsign-hash partitions between instances sharing one database.
+ *
+ * Every callsign hashes into one of a fixed number of partitions. Each instance
+ * heartbeats into {@code cluster_nodes}, computes its fair share of partitions
+ * from the number of live nodes, and claims or releases leases in
+ * {@code partition_leases} to reach it. Leases of a node that stops
+ * heartbeating expire and are taken over by the survivors.
+ *
+ * Heartbeats run on their own thread rather than the shared scheduler, so a
+ * long flush or recovery sweep cannot delay them past the point where this
+ * node stops trusting its leases.
+ *
+ * When cluster mode is disabled every callsign is owned by this instance.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Lazy(false)
+public class ClusterCoordinator {
+
+    private final PSKReporterConfig config;
+    private final ClusterNodeRepository nodeRepository;
+    private final PartitionLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private String nodeId;
+    private boolean partitionsSeeded = false;
+    private volatile Ownership ownership = new Ownership(new BitSet(), Instant.EPOCH);
+    private ScheduledExecutorService heartbeatScheduler;
+
+    @PostConstruct
+    public void init() {
+        PSKReporterConfig.Cluster cluster = config.getCluster();
+        nodeId = StringUtils.hasText(cluster.getNodeId()) ? cluster.getNodeId() : generateNodeId();
+        if (cluster.isEnabled()) {
+            log.info("Cluster mode enabled: node {} sharing {} partitions", nodeId, cluster.getPartitions());
+        }
+    }
+
+    /**
+     * Start heartbeating on a dedicated thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startHeartbeat() {
+        if (!config.getCluster().isEnabled()) {
+            return;
+        }
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, 0,
+            config.getCluster().getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!config.getCluster().isEnabled()) {
+            return;
+        }
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdown();
+            try {
+                // Let a running heartbeat finish, so it cannot publish leases after the release
+                heartbeatScheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ownership = new Ownership(new BitSet(), Instant.EPOCH);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                leaseRepository.releaseAll(nodeId);
+                nodeRepository.deleteById(nodeId);
+            });
+            log.info("Node {} released its partitions", nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release partitions on shutdown, leases will expire", e);
+        }
+    }
+
+    /**
+     * Refresh this node's heartbeat and rebalance its partition leases.
+     */
+    public void heartbeat() {
+        if (!config.getCluster().isEnabled()) {
+            return;
+        }
+        try {
+            heartbeat(Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Another node seeded the partition table, retrying on next heartbeat");
+        } catch (Exception e) {
+            log.error("Cluster heartbeat failed", e);
+        }
+    }
+
+    /**
+     * Rebalance in one transaction and trust the resulting leases only once
+     * it has committed; a failed commit leaves the previous ownership, which
+     * expires on its own.
+     */
+    void heartbeat(Instant now) {
+        if (!partitionsSeeded) {
+            transactionTemplate.executeWithoutResult(status -> seedPartitions());
+        }
+        BitSet partitions = transactionTemplate.execute(status -> rebalance(now));
+        Duration lease = Duration.ofMillis(config.getCluster().getLeaseDurationMs());
+        // Stop trusting the leases a third of the lease duration before they
+        // expire, leaving headroom for clock skew between nodes
+        ownership = new Ownership(partitions, now.plus(lease).minus(lease.dividedBy(3)));
+    }
+
+    /**
+     * Check whether this instance is responsible for a callsign.
+     */
+    public boolean ownsCallsign(String callsign) {
+        if (!config.getCluster().isEnabled()) {
+            return true;
+        }
+        return ownsPartition(partitionOf(callsign));
+    }
+
+    /**
+     * Check whether this instance currently holds a valid lease on a partition.
+     */
+    public boolean ownsPartition(int partition) {
+        Ownership current = ownership;
+        return current.partitions().get(partition) && Instant.now().isBefore(current.validUntil());
+    }
+
+    /**
+     * Map a callsign to its partition. String.hashCode is specified by the JLS,
+     * so every instance computes the same partition.
+     */
+    public int partitionOf(String callsign) {
+        return Math.floorMod(callsign.hashCode(), config.getCluster().getPartitions());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Partitions this node held after its last successful rebalance.
+     */
+    public Set<Integer> getOwnedPartitions() {
+        Set<Integer> owned = new TreeSet<>();
+        ownership.partitions().stream().forEach(owned::add);
+        return owned;
+    }
+
+    /**
+     * Create the lease rows if this is the first node to start.
+     */
+    void seedPartitions() {
+        int partitions = config.getCluster().getPartitions();
+        if (leaseRepository.count() < partitions) {
+            List<PartitionLease> missing = new ArrayList<>();
+            for (int p = 0; p < partitions; p++) {
+                if (!leaseRepository.existsById(p)) {
+                    missing.add(PartitionLease.builder().partitionId(p).build());
+                }
+            }
+            leaseRepository.saveAll(missing);
+            log.info("Created {} partition leases", missing.size());
+        }
+        partitionsSeeded = true;
+    }
+
+    /**
+     * One heartbeat: record liveness, renew held leases, then release or
+     * claim partitions until this node holds its fair share.
+     *
+     * @return the partitions this node holds once the transaction commits
+     */
+    BitSet rebalance(Instant now) {
+        PSKReporterConfig.Cluster cluster = config.getCluster();
+        Duration lease = Duration.ofMillis(cluster.getLeaseDurationMs());
+        Instant until = now.plus(lease);
+
+        nodeRepository.save(new ClusterNode(nodeId, now));
+        nodeRepository.deleteStale(now.minus(lease.multipliedBy(2)));
+        long liveNodes = Math.max(1, nodeRepository.countByLastHeartbeatAfter(now.minus(lease)));
+        int fairShare = (int) ((cluster.getPartitions() + liveNodes - 1) / liveNodes);
+
+        leaseRepository.renew(nodeId, until);
+        List<Integer> owned = new ArrayList<>(leaseRepository.findPartitionIdsByOwner(nodeId));
+
+        while (owned.size() > fairShare) {
+            Integer released = owned.remove(owned.size() - 1);
+            leaseRepository.release(released, nodeId);
+            log.info("Node {} released partition {}", nodeId, released);
+        }
+
+        if (owned.size() < fairShare) {
+            for (Integer candidate : leaseRepository.findClaimable(now)) {
+                if (owned.size() >= fairShare) {
+                    break;
+                }
+                if (leaseRepository.claim(candidate, nodeId, until, now) == 1) {
+                    owned.add(candidate);
+                    log.info("Node {} claimed partition {}", nodeId, candidate);
+                }
+            }
+        }
+
+        BitSet partitions = new BitSet(cluster.getPartitions());
+        owned.forEach(partitions::set);
+        return partitions;
+    }
+
+    private String generateNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private record Ownership(BitSet partitions, Instant validUntil) {
+    }
+}
@@ -4,6 +4,7 @@ import com.pskreporter.log.entity.MonitoredCallsign;
 import com.pskreporter.log.model.PSKReception;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -21,10 +22,12 @@ import java.util.Random;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Lazy(false)
 public class DemoDataGenerator {
 
     private final ReceptionProcessor receptionProcessor;
     private final MonitoredCallsignService callsignService;
+    private final ClusterCoordinator clusterCoordinator;
     private final Random random = new Random();
 
     // Common ham radio frequencies (in Hz)
@@ -55,6 +58,8 @@ public class DemoDataGenerator {
             List<String> monitoredCallsigns = callsignService.getActiveCallsigns()
                 .stream()
                 .map(MonitoredCallsign::getCallsign)
+                .filter(MonitoredCallsignService::isExactCallsign)
+                .filter(clusterCoordinator::ownsCallsign)
                 .toList();
 
             if (monitoredCallsigns.isEmpty()) {
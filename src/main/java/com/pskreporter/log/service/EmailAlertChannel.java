@@ -0,0 +1,48 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.model.AlertMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Delivers alerts as plain-text email, synchronously, one message per alert.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmailAlertChannel implements AlertChannel {
+
+    private final JavaMailSender mailSender;
+
+    @Override
+    public String getName() {
+        return "email";
+    }
+
+    @Override
+    public boolean supports(String destination) {
+        return destination.indexOf('@') > 0 && !destination.contains("://");
+    }
+
+    @Override
+    public boolean send(List<String> destinations, AlertMessage message) {
+        try {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setTo(destinations.toArray(new String[0]));
+            mail.setSubject(message.subject());
+            mail.setText(message.text());
+
+            mailSender.send(mail);
+            return true;
+
+        } catch (Exception e) {
+            log.error("Failed to send alert email", e);
+            return false;
+        }
+    }
+}
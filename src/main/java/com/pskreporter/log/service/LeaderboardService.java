@@ -0,0 +1,197 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.LeaderboardSnapshot;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.Leaderboard;
+import com.pskreporter.log.model.LeaderboardMetric;
+import com.pskreporter.log.repository.LeaderboardSnapshotRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains per callsign, day and metric top-N leaderboards.
+ *
+ * Leaderboards for recent days live in memory and are updated by the ingest
+ * pipeline for every stored report. Changed leaderboards are flushed to the
+ * {@code leaderboards} table periodically; days older than the retention
+ * window are evicted from memory after their last flush, so memory is bounded
+ * by active callsigns x retained days x metrics x N entries.
+ *
+ * In cluster mode a board is also evicted once this node no longer owns its
+ * callsign. A flush merges the board into the stored snapshot instead of
+ * replacing it, and the snapshot's version column rejects concurrent writes,
+ * so a node that lost a partition cannot overwrite its new owner's entries.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Lazy(false)
+public class LeaderboardService {
+
+    private static final int MAX_SIZE = 255;
+
+    private final LeaderboardSnapshotRepository snapshotRepository;
+    private final PSKReporterConfig config;
+    private final ClusterCoordinator clusterCoordinator;
+
+    private final Map<Key, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+
+    private record Key(String callsign, LocalDate day, LeaderboardMetric metric) {
+    }
+
+    /**
+     * Offer a stored report to the leaderboards of its callsign and day.
+     */
+    public void record(ReceptionReport report) {
+        LocalDate day = report.getTimestamp().toLocalDate();
+        if (day.isBefore(oldestRetainedDay())) {
+            return;
+        }
+        offer(new Key(report.getTxCallsign(), day, LeaderboardMetric.SNR), report.getSnr(), report);
+        offer(new Key(report.getTxCallsign(), day, LeaderboardMetric.DISTANCE), report.getDistance(), report);
+    }
+
+    /**
+     * Get a leaderboard ordered from best to worst, from memory if it is
+     * still retained and from the stored snapshot otherwise.
+     */
+    public List<Leaderboard.Entry> getLeaderboard(String callsign, LocalDate day, LeaderboardMetric metric) {
+        Leaderboard leaderboard = leaderboards.get(new Key(callsign, day, metric));
+        if (leaderboard != null) {
+            synchronized (leaderboard) {
+                return leaderboard.ranked();
+            }
+        }
+        return snapshotRepository.findByCallsignAndReportDateAndMetric(callsign, day, metric)
+            .map(snapshot -> Leaderboard.decode(snapshot.getEntries(), capacity()).ranked())
+            .orElse(List.of());
+    }
+
+    /**
+     * Persist changed leaderboards and evict days past the retention window.
+     */
+    @Scheduled(fixedDelayString = "${pskreporter.leaderboard.flush-interval-ms:60000}")
+    public void flush() {
+        LocalDate oldest = oldestRetainedDay();
+        int flushed = 0;
+
+        for (Map.Entry<Key, Leaderboard> entry : leaderboards.entrySet()) {
+            Key key = entry.getKey();
+            Leaderboard leaderboard = entry.getValue();
+            byte[] encoded = null;
+
+            synchronized (leaderboard) {
+                if (leaderboard.isDirty()) {
+                    encoded = leaderboard.encode();
+                    leaderboard.markClean();
+                }
+            }
+
+            if (encoded != null) {
+                try {
+                    save(key, encoded);
+                    flushed++;
+                } catch (Exception e) {
+                    log.error("Failed to persist leaderboard {}", key, e);
+                    synchronized (leaderboard) {
+                        leaderboard.markDirty();
+                    }
+                    continue;
+                }
+            }
+
+            if (key.day().isBefore(oldest) || !clusterCoordinator.ownsCallsign(key.callsign())) {
+                leaderboards.remove(key, leaderboard);
+            }
+        }
+
+        if (flushed > 0) {
+            log.debug("Flushed {} leaderboards, {} in memory", flushed, leaderboards.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void offer(Key key, Integer value, ReceptionReport report) {
+        if (value == null) {
+            return;
+        }
+        Leaderboard.Entry entry = new Leaderboard.Entry(
+            value,
+            report.getRxCallsign(),
+            report.getFrequency(),
+            report.getMode(),
+            report.getSnr(),
+            report.getDistance(),
+            report.getTimestamp()
+        );
+        Leaderboard leaderboard = leaderboards.get(key);
+        if (leaderboard == null) {
+            // Load outside the map so the database read does not block other keys
+            Leaderboard loaded = load(key);
+            leaderboard = leaderboards.putIfAbsent(key, loaded);
+            if (leaderboard == null) {
+                leaderboard = loaded;
+            }
+        }
+        synchronized (leaderboard) {
+            leaderboard.offer(entry);
+        }
+    }
+
+    /**
+     * Start from the stored snapshot, e.g. after a restart or when this node
+     * took over the callsign's partition.
+     */
+    private Leaderboard load(Key key) {
+        return snapshotRepository.findByCallsignAndReportDateAndMetric(key.callsign(), key.day(), key.metric())
+            .map(snapshot -> Leaderboard.decode(snapshot.getEntries(), capacity()))
+            .orElseGet(() -> new Leaderboard(capacity()));
+    }
+
+    /**
+     * Merge into the stored snapshot, which another node may have written
+     * since this one loaded the board. A concurrent write fails the version
+     * check, and the board stays dirty for the next flush.
+     */
+    private void save(Key key, byte[] encoded) {
+        Optional<LeaderboardSnapshot> stored = snapshotRepository
+            .findByCallsignAndReportDateAndMetric(key.callsign(), key.day(), key.metric());
+        LeaderboardSnapshot snapshot = stored.orElseGet(() -> LeaderboardSnapshot.builder()
+            .callsign(key.callsign())
+            .reportDate(key.day())
+            .metric(key.metric())
+            .build());
+        if (stored.isPresent()) {
+            Leaderboard merged = Leaderboard.decode(snapshot.getEntries(), capacity());
+            merged.merge(Leaderboard.decode(encoded, capacity()));
+            encoded = merged.encode();
+        }
+        snapshot.setEntries(encoded);
+        snapshot.setUpdatedAt(LocalDateTime.now());
+        snapshotRepository.save(snapshot);
+    }
+
+    private LocalDate oldestRetainedDay() {
+        return LocalDate.now().minusDays(config.getLeaderboard().getRetentionDays());
+    }
+
+    private int capacity() {
+        return Math.min(config.getLeaderboard().getSize(), MAX_SIZE);
+    }
+}
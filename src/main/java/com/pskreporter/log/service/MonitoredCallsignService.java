@@ -2,32 +2,73 @@ package com.pskreporter.log.service;
 
 import com.pskreporter.log.config.PSKReporterConfig;
 import com.pskreporter.log.entity.MonitoredCallsign;
+import com.pskreporter.log.model.CallsignImportResult;
+import com.pskreporter.log.model.CallsignPatternMatcher;
 import com.pskreporter.log.repository.MonitoredCallsignRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Service to manage monitored callsigns.
+ * Entries may be exact callsigns, prefix patterns ("VK*"), suffix patterns
+ * ("*&#47;P") or DXCC entities ("DXCC:JA"). All active entries are compiled
+ * into one {@link CallsignPatternMatcher} that ingest checks spots against.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class MonitoredCallsignService {
 
+    private static final int UPSERT_CHUNK_SIZE = 1000;
+    private static final int UPSERT_ATTEMPTS = 3;
+    private static final String DXCC_PREFIX = "DXCC:";
+
     private final MonitoredCallsignRepository repository;
     private final PSKReporterConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile CallsignPatternMatcher matcher = CallsignPatternMatcher.empty();
 
     /**
-     * Initialize monitored callsigns from configuration on startup.
+     * Load the matcher from the callsigns already in the database, so ingest
+     * can match spots before the configured list has been upserted.
      */
     @PostConstruct
-    @Transactional
+    public void loadMatcher() {
+        rebuildMatcher();
+    }
+
+    /**
+     * Upsert the configured callsigns once the application is ready.
+     * This runs after startup so the UDP receiver is already listening,
+     * and costs a handful of statements regardless of the list size. A
+     * database failure is logged rather than aborting startup; the matcher
+     * keeps the entries already stored.
+     */
+    @EventListener(ApplicationReadyEvent.class)
     public void initializeMonitoredCallsigns() {
         List<String> callsigns = config.getMonitoredCallsigns();
         if (callsigns == null || callsigns.isEmpty()) {
@@ -35,21 +76,91 @@ public class MonitoredCallsignService {
             return;
         }
 
-        for (String callsign : callsigns) {
-            if (!repository.existsByCallsignAndActiveTrue(callsign)) {
-                MonitoredCallsign monitored = MonitoredCallsign.builder()
-                    .callsign(callsign.trim().toUpperCase())
-                    .active(true)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-                repository.save(monitored);
-                log.info("Added monitored callsign: {}", callsign);
-            } else {
-                log.info("Callsign {} already monitored", callsign);
+        long started = System.currentTimeMillis();
+        CallsignImportResult result;
+        try {
+            result = upsertCallsigns(callsigns);
+        } catch (DataAccessException e) {
+            log.error("Failed to initialize monitored callsigns", e);
+            return;
+        }
+        log.info("Initialized {} monitored callsigns ({} added, {} re-activated) in {} ms",
+                 result.getReceived(), result.getAdded(), result.getReactivated(),
+                 System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Add or re-activate many callsigns at once.
+     * Existing rows are looked up and re-activated with one statement per chunk,
+     * and missing rows are inserted with JDBC batches, one transaction per chunk.
+     */
+    public CallsignImportResult upsertCallsigns(Collection<String> callsigns) {
+        List<String> normalized = callsigns.stream()
+            .filter(StringUtils::hasText)
+            .map(CallsignPatternMatcher::normalize)
+            .distinct()
+            .toList();
+        normalized.forEach(this::validate);
+
+        int added = 0;
+        int reactivated = 0;
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int from = 0; from < normalized.size(); from += UPSERT_CHUNK_SIZE) {
+            List<String> chunk = normalized.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, normalized.size()));
+            CallsignImportResult result = upsertChunk(chunk, now);
+            added += result.getAdded();
+            reactivated += result.getReactivated();
+        }
+
+        rebuildMatcherAfterCommit();
+        return new CallsignImportResult(normalized.size(), added, reactivated);
+    }
+
+    /**
+     * Upsert one chunk in its own transaction. Instances starting together
+     * with the same list may insert the same callsign at the same time; the
+     * loser fails on the unique constraint and retries the chunk, which then
+     * finds the other instance's rows.
+     */
+    private CallsignImportResult upsertChunk(List<String> chunk, LocalDateTime now) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertOrActivate(chunk, now));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= UPSERT_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Callsigns were inserted concurrently, retrying chunk (attempt {})", attempt + 1);
             }
         }
+    }
+
+    private CallsignImportResult insertOrActivate(List<String> chunk, LocalDateTime now) {
+        int added = 0;
+        int reactivated = 0;
+
+        Set<String> existing = new HashSet<>(repository.findExistingCallsigns(chunk));
+        if (!existing.isEmpty()) {
+            reactivated = repository.activateAll(existing);
+        }
 
-        log.info("Initialized {} monitored callsigns", callsigns.size());
+        List<String> missing = chunk.stream()
+            .filter(callsign -> !existing.contains(callsign))
+            .toList();
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO monitored_callsigns (callsign, active, created_at) VALUES (?, ?, ?)",
+                missing,
+                missing.size(),
+                (ps, callsign) -> {
+                    ps.setString(1, callsign);
+                    ps.setBoolean(2, true);
+                    ps.setTimestamp(3, Timestamp.valueOf(now));
+                });
+            added = missing.size();
+        }
+        return new CallsignImportResult(chunk.size(), added, reactivated);
     }
 
     /**
@@ -57,7 +168,9 @@ public class MonitoredCallsignService {
      */
     @Transactional
     public MonitoredCallsign addMonitoredCallsign(String callsign) {
-        String normalizedCallsign = callsign.trim().toUpperCase();
+        String normalizedCallsign = CallsignPatternMatcher.normalize(callsign);
+        validate(normalizedCallsign);
+        rebuildMatcherAfterCommit();
         
         return repository.findByCallsign(normalizedCallsign)
             .map(existing -> {
@@ -85,15 +198,99 @@ public class MonitoredCallsignService {
      */
     @Transactional
     public void removeMonitoredCallsign(String callsign) {
-        String normalizedCallsign = callsign.trim().toUpperCase();
+        String normalizedCallsign = CallsignPatternMatcher.normalize(callsign);
         repository.findByCallsign(normalizedCallsign)
             .ifPresent(monitored -> {
                 monitored.setActive(false);
                 repository.save(monitored);
+                rebuildMatcherAfterCommit();
                 log.info("Deactivated monitored callsign: {}", normalizedCallsign);
             });
     }
 
+    /**
+     * Check whether a transmitter callsign matches any active entry.
+     */
+    public boolean isMonitored(String callsign) {
+        return callsign != null && matcher.matches(callsign);
+    }
+
+    /**
+     * Check whether an entry is a single callsign rather than a pattern or DXCC entity.
+     */
+    public static boolean isExactCallsign(String entry) {
+        return !entry.startsWith(DXCC_PREFIX) && CallsignPatternMatcher.isLiteral(entry);
+    }
+
+    /**
+     * Recompile the matcher from the active entries in the database.
+     */
+    public synchronized void rebuildMatcher() {
+        long started = System.nanoTime();
+        List<String> patterns = new ArrayList<>();
+        for (String entry : repository.findActiveCallsigns()) {
+            patterns.addAll(expand(entry));
+        }
+        matcher = CallsignPatternMatcher.compile(patterns);
+        log.info("Compiled {} callsign patterns in {} ms",
+                 patterns.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Rebuild once the current transaction commits, so the matcher is compiled
+     * from committed rows and concurrent changes are not lost.
+     */
+    private void rebuildMatcherAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuildMatcher();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuildMatcher();
+            }
+        });
+    }
+
+    /**
+     * Reject entries that are neither a valid pattern nor a known DXCC entity.
+     */
+    private void validate(String entry) {
+        if (entry.startsWith(DXCC_PREFIX)) {
+            if (dxccPrefixes().get(entry.substring(DXCC_PREFIX.length())) == null) {
+                throw new IllegalArgumentException("Unknown DXCC entity: " + entry);
+            }
+        } else if (!CallsignPatternMatcher.isValid(entry)) {
+            throw new IllegalArgumentException("Invalid callsign pattern: " + entry);
+        }
+    }
+
+    /**
+     * Turn a stored entry into matcher patterns: DXCC entities become one
+     * prefix pattern per configured prefix.
+     */
+    private List<String> expand(String entry) {
+        if (!entry.startsWith(DXCC_PREFIX)) {
+            return CallsignPatternMatcher.isValid(entry) ? List.of(entry) : List.of();
+        }
+        List<String> prefixes = dxccPrefixes().get(entry.substring(DXCC_PREFIX.length()));
+        if (prefixes == null) {
+            log.warn("No prefixes configured for {}, ignoring", entry);
+            return List.of();
+        }
+        return prefixes.stream()
+            .map(prefix -> CallsignPatternMatcher.normalize(prefix) + "*")
+            .filter(CallsignPatternMatcher::isValid)
+            .toList();
+    }
+
+    private Map<String, List<String>> dxccPrefixes() {
+        Map<String, List<String>> prefixes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        prefixes.putAll(config.getDxccPrefixes());
+        return prefixes;
+    }
+
     /**
      * Get all active monitored callsigns.
      */
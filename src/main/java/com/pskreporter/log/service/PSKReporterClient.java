@@ -1,29 +1,36 @@
 package com.pskreporter.log.service;
 
 import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.model.IngestStats;
 import com.pskreporter.log.model.PSKReception;
+import com.pskreporter.log.model.PSKReporterPacketParser;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.*;
 import java.nio.ByteBuffer;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service to receive and parse UDP data stream from PSKReporter.info.
- * PSKReporter broadcasts reception reports via UDP on port 4739.
+ * PSKReporter broadcasts reception reports via UDP on port 4739, encoded
+ * as IPFIX packets (see {@link PSKReporterPacketParser}).
+ * Always created eagerly, so the receiver starts listening even when
+ * the rest of the context is lazily initialized.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Lazy(false)
 public class PSKReporterClient {
 
     private final PSKReporterConfig config;
@@ -32,6 +39,18 @@ public class PSKReporterClient {
     private DatagramSocket socket;
     private ExecutorService executorService;
     private volatile boolean running = false;
+    private boolean firstPacketReceived = false;
+
+    // Only used from the receiving thread
+    private final PSKReporterPacketParser parser = new PSKReporterPacketParser();
+
+    private final AtomicLong packetsReceived = new AtomicLong();
+    private final AtomicLong receptionsReceived = new AtomicLong();
+    private final AtomicLong failedReceptions = new AtomicLong();
+    private final AtomicLong malformedPackets = new AtomicLong();
+    private volatile long unknownTemplateSets;
+    private volatile long rejectedRecords;
+    private volatile long evictedTemplates;
 
     @PostConstruct
     public void start() {
@@ -63,16 +82,21 @@ public class PSKReporterClient {
             running = true;
             byte[] buffer = new byte[8192];
             
-            log.info("Listening for PSKReporter data on {}:{}", 
-                     config.getServer().getHost(), config.getServer().getPort());
+            log.info("Listening for PSKReporter data on {}:{} ({} ms after JVM start)", 
+                     config.getServer().getHost(), config.getServer().getPort(), jvmUptime());
             
             while (running) {
                 try {
                     DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
                     socket.receive(packet);
+
+                    if (!firstPacketReceived) {
+                        firstPacketReceived = true;
+                        log.info("First packet received {} ms after JVM start", jvmUptime());
+                    }
                     
                     // Process received packet
-                    processPacket(packet.getData(), packet.getLength());
+                    processPacket(packet.getSocketAddress(), packet.getData(), packet.getLength());
                     
                 } catch (SocketTimeoutException e) {
                     // Timeout is expected, continue listening
@@ -88,43 +112,61 @@ public class PSKReporterClient {
         }
     }
 
+    private long jvmUptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
     /**
-     * Process a received UDP packet from PSKReporter.
-     * This is a simplified parser - the actual PSKReporter protocol is more complex.
-     * In a production system, you would need to implement the full protocol specification.
+     * Whether the socket is bound and receiving.
      */
-    private void processPacket(byte[] data, int length) {
-        try {
-            // For demonstration purposes, we use synthetic data from DemoDataGenerator
-            // In a real implementation, you would parse the actual PSKReporter binary format
-            // using the parseReception method below or a dedicated PSKReporter protocol library
-            
-            log.debug("Received {} bytes from PSKReporter", length);
-            
-            // TODO: Implement actual PSKReporter packet parsing
-            // The PSKReporter format is documented at http://pskreporter.info/pskdev.html
-            // Example: PSKReception reception = parseReception(ByteBuffer.wrap(data, 0, length));
-            //          receptionProcessor.processReception(reception);
-            
-        } catch (Exception e) {
-            log.error("Error processing packet", e);
-        }
+    public boolean isListening() {
+        return running;
+    }
+
+    /**
+     * Packet and reception counters since startup.
+     */
+    public IngestStats getStats() {
+        return new IngestStats(
+            packetsReceived.get(),
+            receptionsReceived.get(),
+            failedReceptions.get(),
+            malformedPackets.get(),
+            unknownTemplateSets,
+            rejectedRecords,
+            evictedTemplates
+        );
     }
 
     /**
-     * Parse a reception report from the packet data.
-     * This is a stub for actual PSKReporter packet parsing implementation.
-     * The real implementation would decode the binary format according to
-     * PSKReporter protocol specification.
-     * 
-     * @param buffer ByteBuffer containing the packet data
-     * @return Parsed PSKReception object
+     * Decode a received IPFIX packet and hand its receptions to the processor.
+     * A reception that fails processing is counted and logged, and the rest
+     * of the packet is still processed.
      */
-    @SuppressWarnings("unused")
-    private PSKReception parseReception(ByteBuffer buffer) {
-        // TODO: Implement actual PSKReporter binary protocol parsing
-        // See: http://pskreporter.info/pskdev.html for protocol details
-        // This stub is left for future implementation
-        throw new UnsupportedOperationException("PSKReporter packet parsing not yet implemented");
+    private void processPacket(SocketAddress source, byte[] data, int length) {
+        packetsReceived.incrementAndGet();
+        List<PSKReception> receptions;
+        try {
+            receptions = parser.parse(source.toString(), ByteBuffer.wrap(data, 0, length));
+        } catch (IllegalArgumentException e) {
+            malformedPackets.incrementAndGet();
+            log.debug("Dropping malformed packet from {}: {}", source, e.getMessage());
+            return;
+        } finally {
+            unknownTemplateSets = parser.getUnknownTemplateSets();
+            rejectedRecords = parser.getRejectedRecords();
+            evictedTemplates = parser.getEvictedTemplates();
+        }
+
+        log.debug("Received {} bytes with {} receptions from {}", length, receptions.size(), source);
+        for (PSKReception reception : receptions) {
+            receptionsReceived.incrementAndGet();
+            try {
+                receptionProcessor.processReception(reception);
+            } catch (RuntimeException e) {
+                failedReceptions.incrementAndGet();
+                log.error("Error processing reception of {} from {}", reception.getTransmitterCallsign(), source, e);
+            }
+        }
     }
 }
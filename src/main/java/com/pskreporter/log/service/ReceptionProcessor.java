@@ -3,7 +3,6 @@ package com.pskreporter.log.service;
 import com.pskreporter.log.entity.ReceptionReport;
 import com.pskreporter.log.model.PSKReception;
 import com.pskreporter.log.repository.ReceptionReportRepository;
-import com.pskreporter.log.repository.MonitoredCallsignRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,19 +17,37 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReceptionProcessor {
 
     private final ReceptionReportRepository receptionReportRepository;
-    private final MonitoredCallsignRepository monitoredCallsignRepository;
+    private final MonitoredCallsignService callsignService;
     private final AlertService alertService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final LeaderboardService leaderboardService;
+    private final SketchService sketchService;
+    private final BandOpeningDetector bandOpeningDetector;
+    private final SubscriptionService subscriptionService;
+    private final TileService tileService;
 
     /**
-     * Process a PSKReporter reception and save it if the callsign is monitored.
+     * Process a PSKReporter reception and save it if the callsign is monitored
+     * or watched by a subscriber.
      */
     @Transactional
     public void processReception(PSKReception reception) {
         try {
             String txCallsign = reception.getTransmitterCallsign();
+
+            // Band openings are detected from the full feed, monitored or not
+            bandOpeningDetector.record(reception);
+
+            // In cluster mode another instance may own this callsign
+            if (!clusterCoordinator.ownsCallsign(txCallsign)) {
+                log.debug("Callsign {} owned by another node, skipping", txCallsign);
+                return;
+            }
             
-            // Check if this callsign is being monitored
-            if (!monitoredCallsignRepository.existsByCallsignAndActiveTrue(txCallsign)) {
+            // Check if this callsign is being monitored globally or by a subscriber
+            boolean monitored = callsignService.isMonitored(txCallsign);
+            boolean subscribed = subscriptionService.hasSubscriptions(txCallsign);
+            if (!monitored && !subscribed) {
                 log.debug("Callsign {} not monitored, skipping", txCallsign);
                 return;
             }
@@ -51,7 +68,10 @@ public class ReceptionProcessor {
                 .rxLongitude(reception.getReceiverLongitude())
                 .distance(distance)
                 .timestamp(reception.getTimestamp())
-                .alertSent(false)
+                .callsignPartition(clusterCoordinator.partitionOf(txCallsign))
+                // Subscriber-only spots never get a global alert; mark them
+                // skipped now so the recovery sweep does not revisit them
+                .alertSkipped(!monitored)
                 .build();
 
             report = receptionReportRepository.save(report);
@@ -59,8 +79,22 @@ public class ReceptionProcessor {
                      report.getTxCallsign(), report.getRxCallsign(), 
                      report.getFrequency(), report.getSnr(), report.getDistance());
 
+            // Update the precomputed daily leaderboards
+            leaderboardService.record(report);
+
+            // Update the hourly propagation sketches and the map tile pyramid
+            sketchService.record(report);
+            tileService.record(report);
+
             // Check if alert conditions are met
-            alertService.checkAndSendAlert(report);
+            if (monitored) {
+                alertService.checkAndSendAlert(report);
+            }
+
+            // Fan out to the subscribers watching this callsign
+            if (subscribed) {
+                subscriptionService.notifySubscribers(report);
+            }
 
         } catch (Exception e) {
             log.error("Error processing reception", e);
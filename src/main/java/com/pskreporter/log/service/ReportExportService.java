@@ -0,0 +1,292 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.model.Band;
+import com.pskreporter.log.model.ExportFormat;
+import com.pskreporter.log.model.Maidenhead;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a callsign's reception history as gzipped CSV or ADIF.
+ *
+ * Rows are read with a forward-only, read-only JDBC cursor and written straight
+ * to the response stream, bypassing the entity layer, so memory use does not
+ * depend on the number of rows. Writes block while the client is not reading,
+ * which in turn pauses fetching from the database, so every running export
+ * holds a database connection; {@link #tryStart()} bounds how many run at once.
+ *
+ * ADIF times are written in UTC, and modes that ADIF defines as submodes,
+ * e.g. FT4 or PSK31, are written as their mode plus SUBMODE.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReportExportService {
+
+    private static final String SELECT_REPORTS =
+        "SELECT timestamp, tx_callsign, rx_callsign, frequency, mode, snr, distance, " +
+        "tx_latitude, tx_longitude, rx_latitude, rx_longitude " +
+        "FROM reception_reports " +
+        "WHERE tx_callsign = ? AND timestamp >= ? AND timestamp < ? " +
+        "ORDER BY timestamp";
+
+    private static final String CSV_HEADER =
+        "timestamp,tx_callsign,rx_callsign,frequency_hz,band,mode,snr_db,distance_km," +
+        "tx_latitude,tx_longitude,rx_latitude,rx_longitude\n";
+
+    private static final DateTimeFormatter ADIF_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter ADIF_TIME = DateTimeFormatter.ofPattern("HHmmss");
+
+    // ADIF submodes of the modes PSKReporter clients report, by parent mode
+    private static final Map<String, String> ADIF_SUBMODES = Map.ofEntries(
+        Map.entry("FT4", "MFSK"),
+        Map.entry("FST4", "MFSK"),
+        Map.entry("FST4W", "MFSK"),
+        Map.entry("JS8", "MFSK"),
+        Map.entry("Q65", "MFSK"),
+        Map.entry("PSK31", "PSK"),
+        Map.entry("PSK63", "PSK"),
+        Map.entry("PSK125", "PSK"),
+        Map.entry("QPSK31", "PSK"),
+        Map.entry("USB", "SSB"),
+        Map.entry("LSB", "SSB")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PSKReporterConfig config;
+
+    private Semaphore slots;
+
+    @PostConstruct
+    void init() {
+        slots = new Semaphore(Math.max(config.getExport().getMaxConcurrent(), 1));
+    }
+
+    /**
+     * Reserve one of the {@code pskreporter.export.max-concurrent} export
+     * slots. Callers that get one must call {@link #finish()} once the export
+     * has ended.
+     *
+     * @return false if all slots are taken
+     */
+    public boolean tryStart() {
+        return slots.tryAcquire();
+    }
+
+    /**
+     * Release a slot reserved by {@link #tryStart()}.
+     */
+    public void finish() {
+        slots.release();
+    }
+
+    /**
+     * Write all reports of a callsign in [from, to) to the stream, gzip-compressed.
+     *
+     * @return number of exported rows
+     */
+    public long export(String callsign, LocalDateTime from, LocalDateTime to,
+                       ExportFormat format, OutputStream out) throws IOException {
+        PSKReporterConfig.Export settings = config.getExport();
+        GZIPOutputStream gzip = new GZIPOutputStream(out, settings.getBufferSize());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), settings.getBufferSize());
+
+        writeHeader(format, writer);
+        RowWriter rowWriter = new RowWriter(format, writer);
+
+        // PostgreSQL only streams with a cursor inside a transaction
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long started = System.currentTimeMillis();
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                        SELECT_REPORTS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(settings.getFetchSize());
+                    ps.setString(1, callsign);
+                    ps.setTimestamp(2, Timestamp.valueOf(from));
+                    ps.setTimestamp(3, Timestamp.valueOf(to));
+                    return ps;
+                },
+                rowWriter
+            ));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        gzip.finish();
+        log.info("Exported {} reports for {} as {} in {} ms",
+                 rowWriter.rows, callsign, format, System.currentTimeMillis() - started);
+        return rowWriter.rows;
+    }
+
+    private void writeHeader(ExportFormat format, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        } else {
+            writer.write("PSKReporter Log reception export\n");
+            writeAdifField(writer, "ADIF_VER", "3.1.4");
+            writeAdifField(writer, "PROGRAMID", "PSKReporterLog");
+            writer.write("<EOH>\n");
+        }
+    }
+
+    private static void writeAdifField(Writer writer, String name, String value) throws IOException {
+        writer.write('<');
+        writer.write(name);
+        writer.write(':');
+        writer.write(Integer.toString(value.length()));
+        writer.write('>');
+        writer.write(value);
+    }
+
+    /**
+     * Writes each row as soon as the cursor delivers it.
+     */
+    private static final class RowWriter implements RowCallbackHandler {
+
+        private final ExportFormat format;
+        private final Writer writer;
+        private long rows;
+
+        RowWriter(ExportFormat format, Writer writer) {
+            this.format = format;
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            LocalDateTime timestamp = rs.getObject(1, LocalDateTime.class);
+            String txCallsign = rs.getString(2);
+            String rxCallsign = rs.getString(3);
+            long frequency = rs.getLong(4);
+            String mode = rs.getString(5);
+            Integer snr = nullableInt(rs, 6);
+            Integer distance = nullableInt(rs, 7);
+            Double txLatitude = nullableDouble(rs, 8);
+            Double txLongitude = nullableDouble(rs, 9);
+            Double rxLatitude = nullableDouble(rs, 10);
+            Double rxLongitude = nullableDouble(rs, 11);
+            Band band = Band.fromFrequency(frequency);
+
+            try {
+                if (format == ExportFormat.CSV) {
+                    writer.write(timestamp.toString());
+                    writer.write(',');
+                    writer.write(csv(txCallsign));
+                    writer.write(',');
+                    writer.write(csv(rxCallsign));
+                    writer.write(',');
+                    writer.write(Long.toString(frequency));
+                    writer.write(',');
+                    writer.write(band != null ? band.getLabel() : "");
+                    writer.write(',');
+                    writer.write(csv(mode));
+                    writer.write(',');
+                    writer.write(snr != null ? snr.toString() : "");
+                    writer.write(',');
+                    writer.write(distance != null ? distance.toString() : "");
+                    writer.write(',');
+                    writer.write(txLatitude != null ? txLatitude.toString() : "");
+                    writer.write(',');
+                    writer.write(txLongitude != null ? txLongitude.toString() : "");
+                    writer.write(',');
+                    writer.write(rxLatitude != null ? rxLatitude.toString() : "");
+                    writer.write(',');
+                    writer.write(rxLongitude != null ? rxLongitude.toString() : "");
+                    writer.write('\n');
+                } else {
+                    writeAdifField(writer, "CALL", rxCallsign);
+                    writeAdifField(writer, "STATION_CALLSIGN", txCallsign);
+                    // Timestamps are stored in the server's zone; ADIF requires UTC
+                    ZonedDateTime utc = timestamp.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC);
+                    writeAdifField(writer, "QSO_DATE", utc.format(ADIF_DATE));
+                    writeAdifField(writer, "TIME_ON", utc.format(ADIF_TIME));
+                    writeAdifField(writer, "FREQ", String.format(Locale.ROOT, "%.6f", frequency / 1_000_000.0));
+                    if (band != null) {
+                        writeAdifField(writer, "BAND", band.getLabel());
+                    }
+                    if (mode != null) {
+                        String submode = mode.toUpperCase(Locale.ROOT);
+                        String parent = ADIF_SUBMODES.get(submode);
+                        if (parent != null) {
+                            writeAdifField(writer, "MODE", parent);
+                            writeAdifField(writer, "SUBMODE", submode);
+                        } else {
+                            writeAdifField(writer, "MODE", mode);
+                        }
+                    }
+                    if (rxLatitude != null && rxLongitude != null) {
+                        writeAdifField(writer, "GRIDSQUARE", Maidenhead.toLocator(rxLatitude, rxLongitude));
+                    }
+                    if (txLatitude != null && txLongitude != null) {
+                        writeAdifField(writer, "MY_GRIDSQUARE", Maidenhead.toLocator(txLatitude, txLongitude));
+                    }
+                    if (distance != null) {
+                        writeAdifField(writer, "DISTANCE", distance.toString());
+                    }
+                    if (snr != null) {
+                        writeAdifField(writer, "APP_PSKREPORTERLOG_SNR", snr.toString());
+                    }
+                    writer.write("<EOR>\n");
+                }
+            } catch (IOException e) {
+                // Client went away; abort the query
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+        }
+
+        private static String csv(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        private static Integer nullableInt(ResultSet rs, int column) throws SQLException {
+            int value = rs.getInt(column);
+            return rs.wasNull() ? null : value;
+        }
+
+        private static Double nullableDouble(ResultSet rs, int column) throws SQLException {
+            double value = rs.getDouble(column);
+            return rs.wasNull() ? null : value;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.model.ReceptionReportSummary;
+import com.pskreporter.log.model.ReportQuery;
+import com.pskreporter.log.repository.ReceptionReportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only access to reception reports for the REST API.
+ * All reads run in read-only transactions and return projections, never entities.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReportQueryService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ReceptionReportRepository repository;
+
+    /**
+     * Search reports, newest first. The limit is capped at 1000.
+     */
+    public List<ReceptionReportSummary> search(ReportQuery query) {
+        query.setLimit(Math.max(1, Math.min(query.getLimit(), MAX_LIMIT)));
+        if (query.getTxCallsign() != null) {
+            query.setTxCallsign(query.getTxCallsign().trim().toUpperCase());
+        }
+        if (query.getRxCallsign() != null) {
+            query.setRxCallsign(query.getRxCallsign().trim().toUpperCase());
+        }
+        return repository.search(query);
+    }
+
+    /**
+     * Find a single report.
+     */
+    public Optional<ReceptionReportSummary> findById(Long id) {
+        return repository.findSummaryById(id);
+    }
+}
@@ -0,0 +1,215 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.HourlySketch;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.Band;
+import com.pskreporter.log.model.PropagationAggregate;
+import com.pskreporter.log.model.PropagationStats;
+import com.pskreporter.log.repository.HourlySketchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains per callsign, band and hour propagation sketches.
+ *
+ * Works like {@link LeaderboardService}: sketches of recent hours live in
+ * memory and are updated for every stored report, flushed to the
+ * {@code hourly_sketches} table periodically and evicted once their hour is
+ * past the retention window. Range queries merge the stored hourly sketches
+ * with the in-memory ones, so they cost one row per hour and band instead of
+ * one per report.
+ *
+ * Counts are not idempotent, so a flush merges only the receptions added
+ * since the previous flush into the stored sketch, under its version column.
+ * In cluster mode a sketch is evicted once this node no longer owns its
+ * callsign, and queries read the stored sketch that the new owner updates.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Lazy(false)
+public class SketchService {
+
+    static final String OTHER_BAND = "other";
+
+    private final HourlySketchRepository sketchRepository;
+    private final PSKReporterConfig config;
+    private final ClusterCoordinator clusterCoordinator;
+
+    private final Map<Key, HourSketch> sketches = new ConcurrentHashMap<>();
+
+    private record Key(String callsign, String band, LocalDateTime hour) {
+    }
+
+    /**
+     * Sketch of one key: the full aggregate served to queries, and the
+     * receptions added since the last flush. Callers synchronize on it.
+     */
+    private static final class HourSketch {
+        private final PropagationAggregate total;
+        private PropagationAggregate pending = new PropagationAggregate();
+
+        private HourSketch(PropagationAggregate total) {
+            this.total = total;
+        }
+    }
+
+    /**
+     * Add a stored report to the sketch of its callsign, band and hour.
+     */
+    public void record(ReceptionReport report) {
+        LocalDateTime hour = report.getTimestamp().truncatedTo(ChronoUnit.HOURS);
+        if (hour.isBefore(oldestRetainedHour())) {
+            return;
+        }
+        Key key = new Key(report.getTxCallsign(), bandOf(report.getFrequency()), hour);
+        HourSketch sketch = sketches.get(key);
+        if (sketch == null) {
+            // Load outside the map so the database read does not block other keys
+            HourSketch loaded = new HourSketch(load(key));
+            sketch = sketches.putIfAbsent(key, loaded);
+            if (sketch == null) {
+                sketch = loaded;
+            }
+        }
+        synchronized (sketch) {
+            sketch.total.add(report.getRxCallsign(), report.getSnr(), report.getDistance());
+            sketch.pending.add(report.getRxCallsign(), report.getSnr(), report.getDistance());
+        }
+    }
+
+    /**
+     * Summarize a callsign's receptions in the hours overlapping [from, to),
+     * on one band or on all bands if band is null.
+     */
+    public PropagationStats getStats(String callsign, String band, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime firstHour = from.truncatedTo(ChronoUnit.HOURS);
+
+        // Stored sketches first, then replace those still held in memory with the live version
+        Map<Key, PropagationAggregate> hours = new HashMap<>();
+        for (HourlySketch stored : sketchRepository.findRange(callsign, band, firstHour, to)) {
+            hours.put(new Key(stored.getCallsign(), stored.getBand(), stored.getHourStart()),
+                      PropagationAggregate.decode(stored.getSketch()));
+        }
+        for (Map.Entry<Key, HourSketch> entry : sketches.entrySet()) {
+            Key key = entry.getKey();
+            if (key.callsign().equals(callsign)
+                    && (band == null || key.band().equals(band))
+                    && !key.hour().isBefore(firstHour) && key.hour().isBefore(to)) {
+                PropagationAggregate copy = new PropagationAggregate();
+                synchronized (entry.getValue()) {
+                    copy.merge(entry.getValue().total);
+                }
+                hours.put(key, copy);
+            }
+        }
+
+        PropagationAggregate total = new PropagationAggregate();
+        hours.values().forEach(total::merge);
+        return total.toStats();
+    }
+
+    /**
+     * Persist changed sketches, and evict hours past the retention window and
+     * callsigns this node no longer owns.
+     */
+    @Scheduled(fixedDelayString = "${pskreporter.sketch.flush-interval-ms:60000}")
+    public void flush() {
+        LocalDateTime oldest = oldestRetainedHour();
+        int flushed = 0;
+
+        for (Map.Entry<Key, HourSketch> entry : sketches.entrySet()) {
+            Key key = entry.getKey();
+            HourSketch sketch = entry.getValue();
+            PropagationAggregate pending = null;
+
+            synchronized (sketch) {
+                if (sketch.pending.getSpots() > 0) {
+                    pending = sketch.pending;
+                    sketch.pending = new PropagationAggregate();
+                }
+            }
+
+            if (pending != null) {
+                try {
+                    save(key, pending);
+                    flushed++;
+                } catch (Exception e) {
+                    log.error("Failed to persist sketch {}", key, e);
+                    synchronized (sketch) {
+                        sketch.pending.merge(pending);
+                    }
+                    continue;
+                }
+            }
+
+            if (key.hour().isBefore(oldest) || !clusterCoordinator.ownsCallsign(key.callsign())) {
+                sketches.remove(key, sketch);
+            }
+        }
+
+        if (flushed > 0) {
+            log.debug("Flushed {} sketches, {} in memory", flushed, sketches.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Start from the stored sketch, e.g. after a restart or when this node
+     * took over the callsign's partition.
+     */
+    private PropagationAggregate load(Key key) {
+        return sketchRepository.findByCallsignAndBandAndHourStart(key.callsign(), key.band(), key.hour())
+            .map(stored -> PropagationAggregate.decode(stored.getSketch()))
+            .orElseGet(PropagationAggregate::new);
+    }
+
+    /**
+     * Merge the receptions added since the last flush into the stored sketch,
+     * which another node may have written since this one loaded it. A
+     * concurrent write fails the version check, and the receptions are kept
+     * for the next flush.
+     */
+    private void save(Key key, PropagationAggregate pending) {
+        Optional<HourlySketch> stored = sketchRepository
+            .findByCallsignAndBandAndHourStart(key.callsign(), key.band(), key.hour());
+        HourlySketch sketch = stored.orElseGet(() -> HourlySketch.builder()
+            .callsign(key.callsign())
+            .band(key.band())
+            .hourStart(key.hour())
+            .build());
+        PropagationAggregate merged = stored
+            .map(existing -> PropagationAggregate.decode(existing.getSketch()))
+            .orElseGet(PropagationAggregate::new);
+        merged.merge(pending);
+        sketch.setSpotCount(merged.getSpots());
+        sketch.setSketch(merged.encode());
+        sketch.setUpdatedAt(LocalDateTime.now());
+        sketchRepository.save(sketch);
+    }
+
+    private LocalDateTime oldestRetainedHour() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(config.getSketch().getRetentionHours());
+    }
+
+    static String bandOf(long frequency) {
+        Band band = Band.fromFrequency(frequency);
+        return band != null ? band.getLabel() : OTHER_BAND;
+    }
+}
@@ -0,0 +1,321 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.entity.Subscriber;
+import com.pskreporter.log.entity.SubscriberAlert;
+import com.pskreporter.log.entity.Subscription;
+import com.pskreporter.log.model.CallsignPatternMatcher;
+import com.pskreporter.log.model.SubscriptionIndex;
+import com.pskreporter.log.model.SubscriptionRule;
+import com.pskreporter.log.repository.SubscriberAlertRepository;
+import com.pskreporter.log.repository.SubscriberRepository;
+import com.pskreporter.log.repository.SubscriptionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages subscribers and their watchlists, and fans alerts out to them.
+ *
+ * All subscriptions of active subscribers are held in a {@link SubscriptionIndex},
+ * so finding the subscribers of a spot costs time proportional to the rules
+ * watching its callsign. The index is loaded once on startup and then updated
+ * per subscription after each change commits. The alert destinations of
+ * active subscribers are cached alongside, so a spot needs no subscriber reads.
+ *
+ * A spot that triggers rules records one {@link SubscriberAlert} per subscriber
+ * in the ingest transaction. After commit the alerts are delivered from a
+ * small thread pool, never on the ingest thread. Each alert is claimed before
+ * it is sent and released if delivery fails; released alerts, and alerts that
+ * did not fit in the queue, are retried by the {@link AlertRecoveryService}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SubscriptionService {
+
+    private static final String SELECT_RULES =
+        "SELECT s.id, s.subscriber_id, s.callsign, s.snr_threshold, s.distance_threshold " +
+        "FROM subscriptions s JOIN subscribers u ON u.id = s.subscriber_id " +
+        "WHERE u.active = true";
+
+    private static final String SELECT_SUBSCRIBERS =
+        "SELECT id, name, email, webhook_url FROM subscribers WHERE active = true";
+
+    private final SubscriberRepository subscriberRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriberAlertRepository alertRepository;
+    private final AlertService alertService;
+    private final PSKReporterConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final SubscriptionIndex index = new SubscriptionIndex();
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    private ExecutorService deliveryExecutor;
+
+    @PostConstruct
+    public void init() {
+        PSKReporterConfig.SubscriberDelivery delivery = config.getAlert().getSubscriberDelivery();
+        deliveryExecutor = new ThreadPoolExecutor(
+            delivery.getThreads(), delivery.getThreads(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(delivery.getMaxQueueSize()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "subscriber-alerts");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (task, executor) -> log.warn("Subscriber alert queue full, leaving alerts to the recovery sweep"));
+        loadIndex();
+    }
+
+    /**
+     * Build the index and the subscriber cache from the database, reading
+     * rows straight into rules.
+     */
+    public void loadIndex() {
+        long started = System.nanoTime();
+        List<SubscriptionRule> rules = new ArrayList<>();
+        jdbcTemplate.query(SELECT_RULES, rs -> {
+            int snrThreshold = rs.getInt(4);
+            boolean defaultSnr = rs.wasNull();
+            int distanceThreshold = rs.getInt(5);
+            boolean defaultDistance = rs.wasNull();
+            rules.add(new SubscriptionRule(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getString(3),
+                defaultSnr ? config.getAlert().getSnrThreshold() : snrThreshold,
+                defaultDistance ? config.getAlert().getDistanceThreshold() : distanceThreshold
+            ));
+        });
+        index.load(rules);
+        jdbcTemplate.query(SELECT_SUBSCRIBERS, rs -> {
+            Subscriber subscriber = Subscriber.builder()
+                .id(rs.getLong(1))
+                .name(rs.getString(2))
+                .email(rs.getString(3))
+                .webhookUrl(rs.getString(4))
+                .build();
+            subscribers.put(subscriber.getId(), subscriber);
+        });
+        log.info("Indexed {} subscriptions of {} subscribers in {} ms",
+                 rules.size(), subscribers.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdown();
+    }
+
+    /**
+     * Check whether any subscriber watches a transmitter callsign.
+     */
+    public boolean hasSubscriptions(String callsign) {
+        return callsign != null && index.hasSubscriptions(callsign);
+    }
+
+    /**
+     * Record an alert for every subscriber whose rules a stored report
+     * triggers, and queue them for delivery once the report is committed.
+     * Must be called inside the transaction that stored the report.
+     */
+    public void notifySubscribers(ReceptionReport report) {
+        if (!config.getAlert().isEnabled()) {
+            return;
+        }
+        Set<Long> subscriberIds = index.triggeredSubscribers(report.getTxCallsign(), report.getSnr(), report.getDistance());
+        if (subscriberIds.isEmpty()) {
+            return;
+        }
+        List<SubscriberAlert> alerts = new ArrayList<>(subscriberIds.size());
+        for (Long subscriberId : subscriberIds) {
+            alerts.add(SubscriberAlert.builder()
+                .reportId(report.getId())
+                .subscriberId(subscriberId)
+                .callsignPartition(report.getCallsignPartition())
+                .build());
+        }
+        List<SubscriberAlert> saved = alertRepository.saveAll(alerts);
+        afterCommit(() -> deliveryExecutor.execute(() -> {
+            for (SubscriberAlert alert : saved) {
+                try {
+                    deliver(alert, report);
+                } catch (Exception e) {
+                    log.error("Failed to deliver subscriber alert {}", alert.getId(), e);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Claim and send one subscriber alert. Alerts of subscribers or reports
+     * that no longer exist are settled without sending.
+     *
+     * @return false if the alert was claimed but could not be delivered
+     */
+    public boolean deliver(SubscriberAlert alert, ReceptionReport report) {
+        Subscriber subscriber = subscribers.get(alert.getSubscriberId());
+        Integer claimed = transactionTemplate.execute(status -> alertRepository.markDelivered(List.of(alert.getId())));
+        if (claimed == null || claimed == 0 || subscriber == null || report == null) {
+            return true;
+        }
+        if (!alertService.sendSubscriberAlert(subscriber, report)) {
+            transactionTemplate.executeWithoutResult(status -> alertRepository.release(alert.getId()));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Create a subscriber with an email address, a webhook URL or both.
+     */
+    @Transactional
+    public Subscriber createSubscriber(String name, String email, String webhookUrl) {
+        boolean hasEmail = StringUtils.hasText(email);
+        boolean hasWebhook = StringUtils.hasText(webhookUrl);
+        if (!StringUtils.hasText(name) || (!hasEmail && !hasWebhook)) {
+            throw new IllegalArgumentException("Name and an email or webhook URL are required");
+        }
+        if (hasEmail && !email.contains("@")) {
+            throw new IllegalArgumentException("Invalid email: " + email);
+        }
+        if (hasWebhook && !webhookUrl.startsWith("http://") && !webhookUrl.startsWith("https://")) {
+            throw new IllegalArgumentException("Invalid webhook URL: " + webhookUrl);
+        }
+        Subscriber subscriber = subscriberRepository.save(Subscriber.builder()
+            .name(name.trim())
+            .email(hasEmail ? email.trim() : null)
+            .webhookUrl(hasWebhook ? webhookUrl.trim() : null)
+            .build());
+        afterCommit(() -> subscribers.put(subscriber.getId(), subscriber));
+        log.info("Created subscriber {} ({})", subscriber.getId(), subscriber.getName());
+        return subscriber;
+    }
+
+    public Optional<Subscriber> getSubscriber(Long subscriberId) {
+        return subscriberRepository.findById(subscriberId);
+    }
+
+    /**
+     * Delete a subscriber and all of their subscriptions.
+     *
+     * @return false if the subscriber does not exist
+     */
+    @Transactional
+    public boolean deleteSubscriber(Long subscriberId) {
+        Optional<Subscriber> subscriber = subscriberRepository.findById(subscriberId);
+        if (subscriber.isEmpty()) {
+            return false;
+        }
+        List<Subscription> subscriptions = subscriptionRepository.findBySubscriberId(subscriberId);
+        subscriptionRepository.deleteAll(subscriptions);
+        subscriberRepository.delete(subscriber.get());
+        afterCommit(() -> {
+            subscriptions.forEach(subscription -> index.remove(toRule(subscription)));
+            subscribers.remove(subscriberId);
+        });
+        log.info("Deleted subscriber {} with {} subscriptions", subscriberId, subscriptions.size());
+        return true;
+    }
+
+    public List<Subscription> getSubscriptions(Long subscriberId) {
+        return subscriptionRepository.findBySubscriberId(subscriberId);
+    }
+
+    /**
+     * Add a callsign or pattern to a subscriber's watchlist.
+     *
+     * @return the new subscription, or empty if the subscriber does not exist
+     */
+    @Transactional
+    public Optional<Subscription> addSubscription(Long subscriberId, String callsign,
+                                                  Integer snrThreshold, Integer distanceThreshold) {
+        String normalized = CallsignPatternMatcher.normalize(callsign);
+        if (!CallsignPatternMatcher.isValid(normalized)) {
+            throw new IllegalArgumentException("Invalid callsign pattern: " + callsign);
+        }
+        Optional<Subscriber> subscriber = subscriberRepository.findById(subscriberId);
+        if (subscriber.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Subscription subscription = subscriptionRepository.save(Subscription.builder()
+            .subscriberId(subscriberId)
+            .callsign(normalized)
+            .snrThreshold(snrThreshold)
+            .distanceThreshold(distanceThreshold)
+            .build());
+        if (subscriber.get().getActive()) {
+            afterCommit(() -> index.add(toRule(subscription)));
+        }
+        return Optional.of(subscription);
+    }
+
+    /**
+     * Remove an entry from a subscriber's watchlist.
+     *
+     * @return false if the subscription does not exist or belongs to someone else
+     */
+    @Transactional
+    public boolean removeSubscription(Long subscriberId, Long subscriptionId) {
+        Optional<Subscription> subscription = subscriptionRepository.findById(subscriptionId)
+            .filter(existing -> existing.getSubscriberId().equals(subscriberId));
+        if (subscription.isEmpty()) {
+            return false;
+        }
+        subscriptionRepository.delete(subscription.get());
+        afterCommit(() -> index.remove(toRule(subscription.get())));
+        return true;
+    }
+
+    private SubscriptionRule toRule(Subscription subscription) {
+        return new SubscriptionRule(
+            subscription.getId(),
+            subscription.getSubscriberId(),
+            subscription.getCallsign(),
+            subscription.getSnrThreshold() != null
+                ? subscription.getSnrThreshold() : config.getAlert().getSnrThreshold(),
+            subscription.getDistanceThreshold() != null
+                ? subscription.getDistanceThreshold() : config.getAlert().getDistanceThreshold()
+        );
+    }
+
+    /**
+     * Update the index once the current transaction commits, so it never
+     * holds rules that were rolled back.
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
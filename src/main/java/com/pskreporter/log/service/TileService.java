@@ -0,0 +1,231 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.SpotPyramid;
+import com.pskreporter.log.model.TileAggregate;
+import com.pskreporter.log.model.TileCluster;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves map tiles of clustered receiver positions per callsign.
+ *
+ * Time is split into buckets of {@code bucket-minutes}. Buckets inside the
+ * hot window are kept in memory as a {@link SpotPyramid} per callsign and
+ * bucket, fed by the ingest pipeline. Older buckets are aggregated from
+ * {@code reception_reports} on first request; since they no longer change,
+ * their cells are cached per tile, in an LRU cache of {@code cache-size}
+ * tiles that each hold the closed buckets of up to {@code max-minutes}.
+ * A tile is the merge of its buckets' cells and never holds more than 64
+ * clusters.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Lazy(false)
+public class TileService {
+
+    private static final String SELECT_SPOTS =
+        "SELECT timestamp, rx_latitude, rx_longitude, snr FROM reception_reports " +
+        "WHERE tx_callsign = ? AND timestamp >= ? AND timestamp < ? " +
+        "AND rx_latitude >= ? AND rx_latitude <= ? AND rx_longitude >= ? AND rx_longitude <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+    private final PSKReporterConfig config;
+
+    private final Map<BucketKey, SpotPyramid> pyramids = new ConcurrentHashMap<>();
+    // When this node started receiving a callsign's spots; earlier buckets are incomplete in memory
+    private final Map<String, LocalDateTime> trackedSince = new ConcurrentHashMap<>();
+    private Map<TileKey, Map<LocalDateTime, Map<Integer, SpotPyramid.Cell>>> closedTiles;
+
+    private record BucketKey(String callsign, LocalDateTime bucket) {
+    }
+
+    private record TileKey(String callsign, int z, int x, int y) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (60 % config.getTiles().getBucketMinutes() != 0) {
+            throw new IllegalStateException("pskreporter.tiles.bucket-minutes must divide 60");
+        }
+        int maxZoom = config.getTiles().getMaxZoom();
+        if (maxZoom < 0 || maxZoom > SpotPyramid.MAX_ZOOM) {
+            throw new IllegalStateException("pskreporter.tiles.max-zoom must be between 0 and " + SpotPyramid.MAX_ZOOM);
+        }
+        int cacheSize = config.getTiles().getCacheSize();
+        closedTiles = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, Map<LocalDateTime, Map<Integer, SpotPyramid.Cell>>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Add a stored report's receiver position to its bucket's pyramid.
+     */
+    public void record(ReceptionReport report) {
+        if (report.getRxLatitude() == null || report.getRxLongitude() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime bucket = bucketOf(report.getTimestamp());
+        if (bucket.isBefore(hotWindowStart(now))) {
+            return;
+        }
+        trackedSince.putIfAbsent(report.getTxCallsign(), now);
+        SpotPyramid pyramid = pyramids.computeIfAbsent(
+            new BucketKey(report.getTxCallsign(), bucket),
+            key -> new SpotPyramid(config.getTiles().getMaxZoom()));
+        synchronized (pyramid) {
+            pyramid.add(report.getRxLatitude(), report.getRxLongitude(), report.getSnr());
+        }
+    }
+
+    /**
+     * Get the clustered spots of a callsign in tile (z, x, y) over the last minutes.
+     *
+     * @throws IllegalArgumentException if the tile or time range is out of bounds
+     */
+    public TileAggregate getTile(String callsign, int z, int x, int y, int minutes) {
+        PSKReporterConfig.Tiles settings = config.getTiles();
+        if (z < 0 || z > settings.getMaxZoom()) {
+            throw new IllegalArgumentException("Zoom must be between 0 and " + settings.getMaxZoom());
+        }
+        if (x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            throw new IllegalArgumentException("Tile " + x + "/" + y + " does not exist at zoom " + z);
+        }
+        if (minutes < 1 || minutes > settings.getMaxMinutes()) {
+            throw new IllegalArgumentException("Minutes must be between 1 and " + settings.getMaxMinutes());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = bucketOf(now.minusMinutes(minutes));
+        LocalDateTime hotStart = hotWindowStart(now);
+        LocalDateTime since = trackedSince.get(callsign);
+        LocalDateTime inMemoryFrom = since != null && clusterCoordinator.ownsCallsign(callsign)
+            ? bucketOf(since).plusMinutes(settings.getBucketMinutes())
+            : null;
+
+        Map<LocalDateTime, Map<Integer, SpotPyramid.Cell>> closed = closedTiles.get(new TileKey(callsign, z, x, y));
+        Map<Integer, SpotPyramid.Cell> cells = new HashMap<>();
+        List<LocalDateTime> missing = new ArrayList<>();
+        for (LocalDateTime bucket = from; bucket.isBefore(now); bucket = bucket.plusMinutes(settings.getBucketMinutes())) {
+            if (inMemoryFrom != null && !bucket.isBefore(hotStart) && !bucket.isBefore(inMemoryFrom)) {
+                SpotPyramid pyramid = pyramids.get(new BucketKey(callsign, bucket));
+                if (pyramid != null) {
+                    synchronized (pyramid) {
+                        pyramid.collectTile(z, x, y, cells);
+                    }
+                }
+                continue;
+            }
+            Map<Integer, SpotPyramid.Cell> cached = closed != null ? closed.get(bucket) : null;
+            if (cached != null) {
+                cached.forEach((position, cell) -> cells.computeIfAbsent(position, p -> new SpotPyramid.Cell()).merge(cell));
+            } else {
+                missing.add(bucket);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            loadBuckets(callsign, z, x, y, missing, hotStart, cells);
+        }
+
+        List<TileCluster> clusters = new ArrayList<>(cells.size());
+        long spots = 0;
+        for (SpotPyramid.Cell cell : cells.values()) {
+            clusters.add(cell.toCluster());
+            spots += cell.getCount();
+        }
+        clusters.sort(Comparator.comparingInt(TileCluster::count).reversed());
+        return new TileAggregate(z, x, y, from, now, spots, clusters);
+    }
+
+    /**
+     * Drop buckets that left the hot window, and callsigns this node no longer owns.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evict() {
+        LocalDateTime hotStart = hotWindowStart(LocalDateTime.now());
+        trackedSince.keySet().removeIf(callsign -> !clusterCoordinator.ownsCallsign(callsign));
+        pyramids.keySet().removeIf(key ->
+            key.bucket().isBefore(hotStart) || !trackedSince.containsKey(key.callsign()));
+    }
+
+    /**
+     * Aggregate the given buckets of a tile from stored reports with one query,
+     * caching the buckets that are outside the hot window.
+     */
+    private void loadBuckets(String callsign, int z, int x, int y, List<LocalDateTime> buckets,
+                             LocalDateTime hotStart, Map<Integer, SpotPyramid.Cell> cells) {
+        int bucketMinutes = config.getTiles().getBucketMinutes();
+        LocalDateTime first = buckets.get(0);
+        LocalDateTime end = buckets.get(buckets.size() - 1).plusMinutes(bucketMinutes);
+        double north = y == 0 ? 90 : SpotPyramid.tileLatitude(z, y);
+        double south = y == (1 << z) - 1 ? -90 : SpotPyramid.tileLatitude(z, y + 1);
+
+        Map<LocalDateTime, Map<Integer, SpotPyramid.Cell>> loaded = new HashMap<>();
+        buckets.forEach(bucket -> loaded.put(bucket, new HashMap<>()));
+
+        jdbcTemplate.query(SELECT_SPOTS, rs -> {
+            Map<Integer, SpotPyramid.Cell> bucketCells = loaded.get(bucketOf(rs.getTimestamp(1).toLocalDateTime()));
+            if (bucketCells == null) {
+                return;
+            }
+            double latitude = rs.getDouble(2);
+            double longitude = rs.getDouble(3);
+            int position = SpotPyramid.cellOf(z, x, y, latitude, longitude);
+            if (position < 0) {
+                return;
+            }
+            int snr = rs.getInt(4);
+            Integer snrValue = rs.wasNull() ? null : snr;
+            bucketCells.computeIfAbsent(position, p -> new SpotPyramid.Cell()).add(latitude, longitude, snrValue);
+        },
+            callsign, Timestamp.valueOf(first), Timestamp.valueOf(end),
+            south, north, SpotPyramid.tileLongitude(z, x), SpotPyramid.tileLongitude(z, x + 1));
+
+        Map<LocalDateTime, Map<Integer, SpotPyramid.Cell>> closed =
+            closedTiles.computeIfAbsent(new TileKey(callsign, z, x, y), key -> new ConcurrentHashMap<>());
+        loaded.forEach((bucket, bucketCells) -> {
+            bucketCells.forEach((position, cell) -> cells.computeIfAbsent(position, p -> new SpotPyramid.Cell()).merge(cell));
+            if (!bucket.plusMinutes(bucketMinutes).isAfter(hotStart)) {
+                closed.put(bucket, bucketCells);
+            }
+        });
+        // Buckets older than the longest allowed range are never requested again
+        LocalDateTime oldest = bucketOf(LocalDateTime.now().minusMinutes(config.getTiles().getMaxMinutes()));
+        closed.keySet().removeIf(bucket -> bucket.isBefore(oldest));
+    }
+
+    private LocalDateTime bucketOf(LocalDateTime timestamp) {
+        int bucketMinutes = config.getTiles().getBucketMinutes();
+        LocalDateTime hour = timestamp.truncatedTo(ChronoUnit.HOURS);
+        return hour.plusMinutes(timestamp.getMinute() / bucketMinutes * bucketMinutes);
+    }
+
+    private LocalDateTime hotWindowStart(LocalDateTime now) {
+        return bucketOf(now.minusMinutes(config.getTiles().getHotWindowMinutes()));
+    }
+}
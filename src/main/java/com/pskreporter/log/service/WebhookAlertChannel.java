@@ -0,0 +1,264 @@
+package com.pskreporter.log.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.model.AlertMessage;
+import com.pskreporter.log.model.WebhookEndpointStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers alerts as batched JSON POSTs to webhook endpoints.
+ *
+ * {@link #send} only queues the alert, so ingest never waits for the network.
+ * Every flush interval each endpoint with queued alerts gets one POST of up to
+ * {@code max-batch-size} alerts, as {@code {"alerts": [...]}}. Requests go
+ * through one shared {@link HttpClient}, which keeps connections alive and
+ * reuses them, and are sent asynchronously: a slow or failing endpoint holds
+ * only its own batch. Failed batches are retried with exponential backoff up
+ * to {@code max-retries} times; alerts arriving meanwhile stay queued, up to
+ * {@code max-queue-size} per endpoint.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Lazy(false)
+public class WebhookAlertChannel implements AlertChannel {
+
+    private final PSKReporterConfig config;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(config.getAlert().getWebhook().getConnectTimeoutMs()))
+            .build();
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public boolean supports(String destination) {
+        return destination.startsWith("http://") || destination.startsWith("https://");
+    }
+
+    /**
+     * Queued alerts are retried here and counted as failed or dropped in
+     * {@link #getStats()}, so callers never resend them.
+     */
+    @Override
+    public boolean ownsDelivery() {
+        return true;
+    }
+
+    @Override
+    public boolean send(List<String> destinations, AlertMessage message) {
+        int maxQueueSize = config.getAlert().getWebhook().getMaxQueueSize();
+        boolean accepted = true;
+        for (String url : destinations) {
+            Endpoint endpoint = endpoints.computeIfAbsent(url, Endpoint::new);
+            if (endpoint.size.incrementAndGet() > maxQueueSize) {
+                endpoint.size.decrementAndGet();
+                endpoint.dropped.increment();
+                log.warn("Webhook queue for {} is full, dropping alert", url);
+                accepted = false;
+                continue;
+            }
+            endpoint.queue.add(new Pending(message, System.nanoTime()));
+        }
+        return accepted;
+    }
+
+    /**
+     * Start one POST for every endpoint that has alerts and no request in flight.
+     */
+    @Scheduled(fixedDelayString = "${pskreporter.alert.webhook.flush-interval-ms:1000}")
+    public void flush() {
+        long now = System.nanoTime();
+        for (Endpoint endpoint : endpoints.values()) {
+            if (now - endpoint.retryAt >= 0 && endpoint.inFlight.compareAndSet(false, true)) {
+                List<Pending> batch = endpoint.nextBatch(config.getAlert().getWebhook().getMaxBatchSize());
+                if (batch.isEmpty()) {
+                    endpoint.inFlight.set(false);
+                } else {
+                    post(endpoint, batch);
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivery counters per endpoint.
+     */
+    public List<WebhookEndpointStats> getStats() {
+        List<WebhookEndpointStats> stats = new ArrayList<>();
+        for (Endpoint endpoint : endpoints.values()) {
+            long delivered = endpoint.delivered.sum();
+            stats.add(new WebhookEndpointStats(
+                endpoint.url,
+                endpoint.size.get(),
+                delivered,
+                endpoint.failed.sum(),
+                endpoint.dropped.sum(),
+                endpoint.batches.sum(),
+                endpoint.retries.sum(),
+                delivered > 0 ? endpoint.latencyNanos.sum() / 1e6 / delivered : 0,
+                endpoint.maxLatencyNanos.get() / 1_000_000
+            ));
+        }
+        return stats;
+    }
+
+    /**
+     * Give queued alerts one last chance before shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void post(Endpoint endpoint, List<Pending> batch) {
+        PSKReporterConfig.Webhook settings = config.getAlert().getWebhook();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(Map.of("alerts", batch.stream().map(Pending::message).toList()));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize webhook batch for {}", endpoint.url, e);
+            endpoint.finish(batch, false);
+            return;
+        }
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(endpoint.url))
+                .timeout(Duration.ofMillis(settings.getRequestTimeoutMs()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid webhook URL {}", endpoint.url, e);
+            endpoint.finish(batch, false);
+            return;
+        }
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                if (error == null && response.statusCode() / 100 == 2) {
+                    endpoint.finish(batch, true);
+                    return;
+                }
+
+                if (error != null) {
+                    log.warn("Webhook POST to {} failed: {}", endpoint.url, error.toString());
+                } else {
+                    log.warn("Webhook POST to {} returned {}", endpoint.url, response.statusCode());
+                }
+
+                int attempt = endpoint.attempts.incrementAndGet();
+                if (attempt > settings.getMaxRetries()) {
+                    log.error("Giving up on {} alerts for {} after {} attempts", batch.size(), endpoint.url, attempt);
+                    endpoint.finish(batch, false);
+                    return;
+                }
+                endpoint.retries.increment();
+                endpoint.retryBatch = batch;
+                endpoint.retryAt = System.nanoTime()
+                    + Duration.ofMillis(settings.getRetryBackoffMs()).toNanos() * (1L << Math.min(attempt - 1, 10));
+                endpoint.inFlight.set(false);
+            });
+    }
+
+    private record Pending(AlertMessage message, long queuedAt) {
+    }
+
+    /**
+     * Queue, retry state and counters of one webhook URL. At most one request
+     * per endpoint is in flight, guarded by {@code inFlight}.
+     */
+    private static final class Endpoint {
+
+        private final String url;
+        private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile List<Pending> retryBatch;
+        private volatile long retryAt = System.nanoTime();
+
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        Endpoint(String url) {
+            this.url = url;
+        }
+
+        /**
+         * The batch to retry, or up to maxSize alerts from the queue.
+         */
+        List<Pending> nextBatch(int maxSize) {
+            if (retryBatch != null) {
+                return retryBatch;
+            }
+            List<Pending> batch = new ArrayList<>(Math.min(maxSize, size.get()));
+            Pending pending;
+            while (batch.size() < maxSize && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+            return batch;
+        }
+
+        void finish(List<Pending> batch, boolean success) {
+            long now = System.nanoTime();
+            if (success) {
+                for (Pending pending : batch) {
+                    long latency = now - pending.queuedAt();
+                    latencyNanos.add(latency);
+                    maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                }
+                delivered.add(batch.size());
+                batches.increment();
+            } else {
+                failed.add(batch.size());
+            }
+            size.addAndGet(-batch.size());
+            retryBatch = null;
+            attempts.set(0);
+            retryAt = now;
+            inFlight.set(false);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pskreporter.log.model;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+class CallsignPatternMatcherTests {
+
+    @Test
+    void matchesExactPrefixAndSuffixPatterns() {
+        CallsignPatternMatcher matcher = CallsignPatternMatcher.compile(List.of("W1AW", "VK*", "3Y0*", "*/P"));
+
+        assertThat(matcher.matches("W1AW")).isTrue();
+        assertThat(matcher.matches("w1aw")).isTrue();
+        assertThat(matcher.matches("W1AWX")).isFalse();
+        assertThat(matcher.matches("W1A")).isFalse();
+        assertThat(matcher.matches("VK2ABC")).isTrue();
+        assertThat(matcher.matches("3Y0J")).isTrue();
+        assertThat(matcher.matches("3Y1J")).isFalse();
+        assertThat(matcher.matches("G4XYZ/P")).isTrue();
+        assertThat(matcher.matches("G4XYZ/M")).isFalse();
+        assertThat(matcher.matches("K1TTT")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+    }
+
+    @Test
+    void reportsEveryMatchingPattern() {
+        CallsignPatternMatcher matcher = CallsignPatternMatcher.compile(List.of("VK*", "VK2*", "VK2ABC/P", "*/P", "W1AW"));
+
+        List<Integer> matches = new ArrayList<>();
+        matcher.forEachMatch("VK2ABC/P", matches::add);
+
+        assertThat(matches).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    void rejectsInvalidPatterns() {
+        assertThat(CallsignPatternMatcher.isValid("*")).isFalse();
+        assertThat(CallsignPatternMatcher.isValid("V*K")).isFalse();
+        assertThat(CallsignPatternMatcher.isValid("*VK*")).isFalse();
+        assertThat(CallsignPatternMatcher.isValid("W1-AW")).isFalse();
+        assertThat(CallsignPatternMatcher.isValid("W1AW")).isTrue();
+        assertThatThrownBy(() -> CallsignPatternMatcher.compile(List.of("W1 AW")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Match throughput with tens of thousands of patterns.
+     * Run with {@code ./mvnw -Pbenchmark test}.
+     */
+    @Test
+    @Tag("benchmark")
+    void matchThroughput() {
+        Random random = new Random(42);
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            String callsign = randomCallsign(random);
+            patterns.add(switch (i % 10) {
+                case 0 -> callsign.substring(0, 3) + "*";
+                case 1 -> "*" + callsign.substring(callsign.length() - 3);
+                default -> callsign;
+            });
+        }
+
+        long compileStart = System.nanoTime();
+        CallsignPatternMatcher matcher = CallsignPatternMatcher.compile(patterns);
+        long compileMs = (System.nanoTime() - compileStart) / 1_000_000;
+
+        String[] spots = new String[100_000];
+        for (int i = 0; i < spots.length; i++) {
+            spots[i] = randomCallsign(random);
+        }
+
+        int matched = 0;
+        for (int warmup = 0; warmup < 5; warmup++) {
+            for (String spot : spots) {
+                if (matcher.matches(spot)) {
+                    matched++;
+                }
+            }
+        }
+
+        int rounds = 20;
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (String spot : spots) {
+                if (matcher.matches(spot)) {
+                    matched++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double perSecond = (double) rounds * spots.length / (elapsed / 1e9);
+        log.info("Compiled {} patterns in {} ms; {} matches/s ({} hits)",
+                 patterns.size(), compileMs, Math.round(perSecond), matched);
+        assertThat(perSecond).isGreaterThan(1_000_000);
+    }
+
+    private static String randomCallsign(Random random) {
+        String letters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        StringBuilder callsign = new StringBuilder();
+        callsign.append(letters.charAt(random.nextInt(26)));
+        if (random.nextBoolean()) {
+            callsign.append(letters.charAt(random.nextInt(26)));
+        }
+        callsign.append(random.nextInt(10));
+        int suffix = 1 + random.nextInt(3);
+        for (int i = 0; i < suffix; i++) {
+            callsign.append(letters.charAt(random.nextInt(26)));
+        }
+        return callsign.toString();
+    }
+}
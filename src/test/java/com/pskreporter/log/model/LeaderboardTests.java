@@ -0,0 +1,76 @@
+package com.pskreporter.log.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTests {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 12, 0, 30);
+
+    @Test
+    void keepsTopEntriesInOrder() {
+        Random random = new Random(3);
+        Leaderboard leaderboard = new Leaderboard(10);
+        for (int i = 0; i < 1000; i++) {
+            leaderboard.offer(entry("RX" + i, random.nextInt(20_000)));
+        }
+        leaderboard.offer(entry("BEST", 25_000));
+
+        List<Leaderboard.Entry> ranked = leaderboard.ranked();
+        assertThat(ranked).hasSize(10);
+        assertThat(ranked.get(0).rxCallsign()).isEqualTo("BEST");
+        assertThat(ranked).isSortedAccordingTo((a, b) -> Integer.compare(b.value(), a.value()));
+        assertThat(leaderboard.offer(entry("WORST", -1))).isFalse();
+    }
+
+    @Test
+    void keepsBestValuePerReceiver() {
+        Leaderboard leaderboard = new Leaderboard(3);
+        leaderboard.offer(entry("K1ABC", 5));
+        leaderboard.offer(entry("K1ABC", 9));
+        leaderboard.offer(entry("W2XYZ", 7));
+        leaderboard.markClean();
+
+        assertThat(leaderboard.offer(entry("K1ABC", 1))).isFalse();
+        assertThat(leaderboard.isDirty()).isFalse();
+        assertThat(leaderboard.ranked()).extracting(Leaderboard.Entry::rxCallsign).containsExactly("K1ABC", "W2XYZ");
+        assertThat(leaderboard.ranked().get(0).value()).isEqualTo(9);
+    }
+
+    @Test
+    void roundTripsThroughEncoding() {
+        Leaderboard leaderboard = new Leaderboard(5);
+        leaderboard.offer(entry("K1ABC", 1200));
+        leaderboard.offer(new Leaderboard.Entry(-3, "W2XYZ", 7_074_000, null, null, null, TIME));
+
+        Leaderboard decoded = Leaderboard.decode(leaderboard.encode(), 5);
+
+        assertThat(decoded.ranked()).isEqualTo(leaderboard.ranked());
+        assertThat(decoded.isDirty()).isFalse();
+    }
+
+    @Test
+    void mergeKeepsTopEntriesOfBoth() {
+        Leaderboard a = new Leaderboard(3);
+        Leaderboard b = new Leaderboard(3);
+        a.offer(entry("K1ABC", 10));
+        a.offer(entry("W2XYZ", 4));
+        b.offer(entry("W2XYZ", 8));
+        b.offer(entry("JA1AA", 6));
+        b.offer(entry("G4BBB", 1));
+
+        a.merge(b);
+
+        assertThat(a.ranked()).extracting(Leaderboard.Entry::rxCallsign).containsExactly("K1ABC", "W2XYZ", "JA1AA");
+        assertThat(a.ranked()).extracting(Leaderboard.Entry::value).containsExactly(10, 8, 6);
+    }
+
+    private static Leaderboard.Entry entry(String rxCallsign, int value) {
+        return new Leaderboard.Entry(value, rxCallsign, 14_074_000, "FT8", -10, value, TIME);
+    }
+}
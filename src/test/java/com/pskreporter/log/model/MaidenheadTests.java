@@ -0,0 +1,35 @@
+package com.pskreporter.log.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MaidenheadTests {
+
+    @Test
+    void encodesSubsquares() {
+        assertThat(Maidenhead.toLocator(41.729, -72.708)).isEqualTo("FN31pr");
+        assertThat(Maidenhead.toLocator(40.5, -75.0)).isEqualTo("FN20mm");
+        assertThat(Maidenhead.toLocator(-33.87, 151.21)).isEqualTo("QF56od");
+        assertThat(Maidenhead.toLocator(0, 0)).isEqualTo("JJ00aa");
+    }
+
+    @Test
+    void clampsToTheGrid() {
+        assertThat(Maidenhead.toLocator(-90, -180)).isEqualTo("AA00aa");
+        assertThat(Maidenhead.toLocator(90, 180)).isEqualTo("RR99xx");
+        assertThat(Maidenhead.toLocator(95, 200)).isEqualTo("RR99xx");
+    }
+
+    @Test
+    void decodesEncodedLocatorToItsOwnSubsquare() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            String locator = Maidenhead.toLocator(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+            double[] center = Maidenhead.toLatLon(locator);
+            assertThat(Maidenhead.toLocator(center[0], center[1])).isEqualTo(locator);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.pskreporter.log.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PSKReporterPacketParserTests {
+
+    private static final long TIME = 1_700_000_000L;
+
+    private final PSKReporterPacketParser parser = new PSKReporterPacketParser();
+
+    @Test
+    void decodesReceiverAndSenderRecords() {
+        byte[] packet = PSKReporterPacketWriter.packet(1, 42, "K2ABC", "FN20", List.of(
+            new PSKReporterPacketWriter.Spot("W1AW", 14_074_123, -12, "FT8", "FN31pr", TIME),
+            new PSKReporterPacketWriter.Spot("ja1xyz", 7_074_000, 5, "FT4", "PM95", TIME + 1)
+        ), true);
+
+        List<PSKReception> receptions = parser.parse("test", ByteBuffer.wrap(packet));
+
+        assertThat(receptions).hasSize(2);
+        PSKReception first = receptions.get(0);
+        assertThat(first.getTransmitterCallsign()).isEqualTo("W1AW");
+        assertThat(first.getReceiverCallsign()).isEqualTo("K2ABC");
+        assertThat(first.getFrequency()).isEqualTo(14_074_123);
+        assertThat(first.getSnr()).isEqualTo(-12);
+        assertThat(first.getMode()).isEqualTo("FT8");
+        assertThat(first.getTransmitterLatitude()).isCloseTo(41.729, within(0.01));
+        assertThat(first.getTransmitterLongitude()).isCloseTo(-72.708, within(0.01));
+        assertThat(first.getReceiverLatitude()).isEqualTo(40.5);
+        assertThat(first.getReceiverLongitude()).isEqualTo(-75.0);
+        assertThat(first.getTimestamp())
+            .isEqualTo(LocalDateTime.ofInstant(Instant.ofEpochSecond(TIME), ZoneId.systemDefault()));
+        assertThat(receptions.get(1).getTransmitterCallsign()).isEqualTo("JA1XYZ");
+        assertThat(receptions.get(1).getSnr()).isEqualTo(5);
+    }
+
+    @Test
+    void skipsDataUntilTemplatesArrive() {
+        List<PSKReporterPacketWriter.Spot> spots =
+            List.of(new PSKReporterPacketWriter.Spot("W1AW", 14_074_000, 0, "FT8", "FN31", TIME));
+
+        assertThat(parser.parse("test", ByteBuffer.wrap(PSKReporterPacketWriter.packet(1, 1, "K2ABC", "FN20", spots, false))))
+            .isEmpty();
+        assertThat(parser.getUnknownTemplateSets()).isEqualTo(2);
+
+        parser.parse("test", ByteBuffer.wrap(PSKReporterPacketWriter.packet(2, 1, "K2ABC", "FN20", spots, true)));
+        assertThat(parser.parse("test", ByteBuffer.wrap(PSKReporterPacketWriter.packet(3, 1, "K2ABC", "FN20", spots, false))))
+            .hasSize(1);
+        // Templates belong to one source
+        assertThat(parser.parse("other", ByteBuffer.wrap(PSKReporterPacketWriter.packet(1, 1, "K2ABC", "FN20", spots, false))))
+            .isEmpty();
+    }
+
+    @Test
+    void readsReceiverOptionsTemplateAndSenderTemplateSets() {
+        ByteBuffer packet = ByteBuffer.wrap(PSKReporterPacketWriter.packet(1, 1, "K2ABC", "FN20",
+            List.of(new PSKReporterPacketWriter.Spot("W1AW", 14_074_000, 0, "FT8", "FN31", TIME)), true));
+
+        // Options template set with one scope field, then a template set
+        assertThat(packet.getShort(16)).isEqualTo((short) PSKReporterPacketParser.OPTIONS_TEMPLATE_SET);
+        assertThat(packet.getShort(20)).isEqualTo((short) PSKReporterPacketWriter.RECEIVER_TEMPLATE);
+        assertThat(packet.getShort(24)).isEqualTo((short) 1);
+        int senderSet = 16 + packet.getShort(18);
+        assertThat(packet.getShort(senderSet)).isEqualTo((short) PSKReporterPacketParser.TEMPLATE_SET);
+        assertThat(packet.getShort(senderSet + 4)).isEqualTo((short) PSKReporterPacketWriter.SENDER_TEMPLATE);
+
+        List<PSKReception> receptions = parser.parse("test", packet);
+
+        assertThat(receptions).hasSize(1);
+        assertThat(receptions.get(0).getReceiverCallsign()).isEqualTo("K2ABC");
+        assertThat(parser.getUnknownTemplateSets()).isZero();
+    }
+
+    @Test
+    void rejectsStringsLongerThanColumns() {
+        String longCallsign = "W1AW/" + "X".repeat(PSKReporterPacketParser.MAX_STRING_LENGTH);
+
+        List<PSKReception> receptions = parser.parse("test", ByteBuffer.wrap(PSKReporterPacketWriter.packet(1, 1,
+            "K2ABC", "FN20", List.of(
+                new PSKReporterPacketWriter.Spot(longCallsign, 14_074_000, 0, "FT8", "FN31", TIME),
+                new PSKReporterPacketWriter.Spot("W1AW", 14_074_000, 0, "X".repeat(21), "FN31", TIME),
+                new PSKReporterPacketWriter.Spot("W1AW", 14_074_000, 0, "FT8", "FN31pr" + "a".repeat(15), TIME),
+                new PSKReporterPacketWriter.Spot("K1TTT", 14_074_000, 0, "FT8", "FN31", TIME)
+            ), true)));
+
+        assertThat(receptions).extracting(PSKReception::getTransmitterCallsign).containsExactly("K1TTT");
+        assertThat(parser.getRejectedRecords()).isEqualTo(3);
+
+        // Senders of a rejected receiver are rejected with it
+        assertThat(parser.parse("test", ByteBuffer.wrap(PSKReporterPacketWriter.packet(2, 1, longCallsign, "FN20",
+            List.of(new PSKReporterPacketWriter.Spot("K1TTT", 14_074_000, 0, "FT8", "FN31", TIME)), false))))
+            .isEmpty();
+        assertThat(parser.getRejectedRecords()).isEqualTo(5);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedTemplates() {
+        PSKReporterPacketParser parser = new PSKReporterPacketParser(4);
+        List<PSKReporterPacketWriter.Spot> spots =
+            List.of(new PSKReporterPacketWriter.Spot("W1AW", 14_074_000, 0, "FT8", "FN31", TIME));
+
+        parser.parse("a", ByteBuffer.wrap(PSKReporterPacketWriter.packet(1, 1, "K2ABC", "FN20", spots, true)));
+        parser.parse("b", ByteBuffer.wrap(PSKReporterPacketWriter.packet(1, 1, "K2ABC", "FN20", spots, true)));
+        // Using the templates of "a" makes those of "b" the eldest
+        assertThat(parser.parse("a", ByteBuffer.wrap(PSKReporterPacketWriter.packet(2, 1, "K2ABC", "FN20", spots, false))))
+            .hasSize(1);
+        parser.parse("c", ByteBuffer.wrap(PSKReporterPacketWriter.packet(1, 1, "K2ABC", "FN20", spots, true)));
+
+        assertThat(parser.getEvictedTemplates()).isEqualTo(2);
+        assertThat(parser.parse("a", ByteBuffer.wrap(PSKReporterPacketWriter.packet(3, 1, "K2ABC", "FN20", spots, false))))
+            .hasSize(1);
+        assertThat(parser.parse("b", ByteBuffer.wrap(PSKReporterPacketWriter.packet(2, 1, "K2ABC", "FN20", spots, false))))
+            .isEmpty();
+        assertThat(parser.getUnknownTemplateSets()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsMalformedPackets() {
+        byte[] packet = PSKReporterPacketWriter.packet(1, 1, "K2ABC", "FN20",
+            List.of(new PSKReporterPacketWriter.Spot("W1AW", 14_074_000, 0, "FT8", "FN31", TIME)), true);
+
+        assertThatThrownBy(() -> parser.parse("test", ByteBuffer.wrap(Arrays.copyOf(packet, packet.length - 7))))
+            .isInstanceOf(IllegalArgumentException.class);
+        packet[1] = 9;
+        assertThatThrownBy(() -> parser.parse("test", ByteBuffer.wrap(packet)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodesLocatorsToSquareCenters() {
+        double[] position = Maidenhead.toLatLon(Maidenhead.toLocator(51.506, -0.114));
+        assertThat(position[0]).isCloseTo(51.506, within(1 / 24.0));
+        assertThat(position[1]).isCloseTo(-0.114, within(1 / 12.0));
+        assertThat(Maidenhead.toLatLon("JJ00")).containsExactly(0.5, 1.0);
+        assertThat(Maidenhead.toLatLon("ZZ99")).isNull();
+        assertThat(Maidenhead.toLatLon("FN3")).isNull();
+    }
+}
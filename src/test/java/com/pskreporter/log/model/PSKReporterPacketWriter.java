@@ -0,0 +1,128 @@
+package com.pskreporter.log.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes IPFIX packets the way PSKReporter reporting software does, with the
+ * receiver and sender templates of the PSKReporter developer documentation:
+ * the receiver template in an options template set with one scope field, and
+ * the sender template in a template set.
+ */
+public final class PSKReporterPacketWriter {
+
+    public static final int RECEIVER_TEMPLATE = 0x9992;
+    public static final int SENDER_TEMPLATE = 0x9993;
+
+    private static final int DECODER_SOFTWARE = 8;
+    private static final int IMD = 7;
+    private static final int INFORMATION_SOURCE = 11;
+
+    private PSKReporterPacketWriter() {
+    }
+
+    public record Spot(String callsign, long frequency, int snr, String mode, String locator, long epochSeconds) {
+    }
+
+    /**
+     * Encode one packet; the templates are included only if requested, as
+     * senders repeat them every few packets.
+     */
+    public static byte[] packet(long sequence, long domain, String receiverCallsign, String receiverLocator,
+                                List<Spot> spots, boolean withTemplates) {
+        try {
+            ByteArrayOutputStream sets = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(sets);
+            if (withTemplates) {
+                writeTemplates(out);
+            }
+
+            ByteArrayOutputStream receiver = new ByteArrayOutputStream();
+            DataOutputStream record = new DataOutputStream(receiver);
+            writeString(record, receiverCallsign);
+            writeString(record, receiverLocator);
+            writeString(record, "SoakTest 1.0");
+            writeSet(out, RECEIVER_TEMPLATE, receiver.toByteArray());
+
+            ByteArrayOutputStream senders = new ByteArrayOutputStream();
+            record = new DataOutputStream(senders);
+            for (Spot spot : spots) {
+                writeString(record, spot.callsign());
+                record.writeInt((int) spot.frequency());
+                record.writeByte(spot.snr());
+                record.writeByte(0);
+                writeString(record, spot.mode());
+                record.writeByte(1);
+                writeString(record, spot.locator());
+                record.writeInt((int) spot.epochSeconds());
+            }
+            writeSet(out, SENDER_TEMPLATE, senders.toByteArray());
+
+            ByteArrayOutputStream packet = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(packet);
+            header.writeShort(PSKReporterPacketParser.IPFIX_VERSION);
+            header.writeShort(16 + sets.size());
+            header.writeInt((int) (System.currentTimeMillis() / 1000));
+            header.writeInt((int) sequence);
+            header.writeInt((int) domain);
+            sets.writeTo(packet);
+            return packet.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeTemplates(DataOutputStream out) throws IOException {
+        ByteArrayOutputStream receiver = new ByteArrayOutputStream();
+        DataOutputStream set = new DataOutputStream(receiver);
+        set.writeShort(RECEIVER_TEMPLATE);
+        set.writeShort(3);
+        set.writeShort(1); // scope field count, the receiver callsign
+        writeField(set, PSKReporterPacketParser.RECEIVER_CALLSIGN, PSKReporterPacketParser.VARIABLE_LENGTH);
+        writeField(set, PSKReporterPacketParser.RECEIVER_LOCATOR, PSKReporterPacketParser.VARIABLE_LENGTH);
+        writeField(set, DECODER_SOFTWARE, PSKReporterPacketParser.VARIABLE_LENGTH);
+        writeSet(out, PSKReporterPacketParser.OPTIONS_TEMPLATE_SET, receiver.toByteArray());
+
+        ByteArrayOutputStream sender = new ByteArrayOutputStream();
+        set = new DataOutputStream(sender);
+        set.writeShort(SENDER_TEMPLATE);
+        set.writeShort(8);
+        writeField(set, PSKReporterPacketParser.SENDER_CALLSIGN, PSKReporterPacketParser.VARIABLE_LENGTH);
+        writeField(set, PSKReporterPacketParser.FREQUENCY, 4);
+        writeField(set, PSKReporterPacketParser.SNR, 1);
+        writeField(set, IMD, 1);
+        writeField(set, PSKReporterPacketParser.MODE, PSKReporterPacketParser.VARIABLE_LENGTH);
+        writeField(set, INFORMATION_SOURCE, 1);
+        writeField(set, PSKReporterPacketParser.SENDER_LOCATOR, PSKReporterPacketParser.VARIABLE_LENGTH);
+        set.writeShort(PSKReporterPacketParser.FLOW_START_SECONDS);
+        set.writeShort(4);
+        writeSet(out, PSKReporterPacketParser.TEMPLATE_SET, sender.toByteArray());
+    }
+
+    private static void writeField(DataOutputStream out, int id, int length) throws IOException {
+        out.writeShort(0x8000 | id);
+        out.writeShort(length);
+        out.writeInt((int) PSKReporterPacketParser.PSKREPORTER_ENTERPRISE);
+    }
+
+    /**
+     * Write a set padded to a multiple of four bytes.
+     */
+    private static void writeSet(DataOutputStream out, int setId, byte[] content) throws IOException {
+        int padding = (4 - content.length % 4) % 4;
+        out.writeShort(setId);
+        out.writeShort(4 + content.length + padding);
+        out.write(content);
+        out.write(new byte[padding]);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(bytes.length);
+        out.write(bytes);
+    }
+}
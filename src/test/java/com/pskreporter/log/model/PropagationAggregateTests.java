@@ -0,0 +1,60 @@
+package com.pskreporter.log.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PropagationAggregateTests {
+
+    @Test
+    void estimatesDistinctReceiversWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add("RX" + i);
+            sketch.add("RX" + (i / 2));
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(100_000, within(100_000 * 0.1));
+    }
+
+    @Test
+    void mergedHoursMatchOneSketchOfAllReceptions() {
+        Random random = new Random(7);
+        PropagationAggregate all = new PropagationAggregate();
+        PropagationAggregate merged = new PropagationAggregate();
+
+        for (int hour = 0; hour < 24; hour++) {
+            PropagationAggregate hourly = new PropagationAggregate();
+            for (int i = 0; i < 500; i++) {
+                String rx = "RX" + random.nextInt(3000);
+                int snr = random.nextInt(50) - 25;
+                int distance = random.nextInt(15_000);
+                hourly.add(rx, snr, distance);
+                all.add(rx, snr, distance);
+            }
+            merged.merge(PropagationAggregate.decode(hourly.encode()));
+        }
+
+        assertThat(merged.toStats()).isEqualTo(all.toStats());
+        assertThat(merged.getSpots()).isEqualTo(12_000);
+    }
+
+    @Test
+    void percentilesMeetAccuracyBounds() {
+        PropagationAggregate aggregate = new PropagationAggregate();
+        for (int i = 1; i <= 1000; i++) {
+            aggregate.add("RX" + i, i % 41 - 20, i * 10);
+        }
+        aggregate.add("RX0", null, null);
+
+        PropagationStats stats = aggregate.toStats();
+        assertThat(stats.spots()).isEqualTo(1001);
+        assertThat(stats.snrP50()).isZero();
+        assertThat(stats.snrP90()).isEqualTo(16);
+        assertThat((double) stats.distanceP50()).isCloseTo(5000, within(5000 * 0.02));
+        assertThat((double) stats.distanceP90()).isCloseTo(9000, within(9000 * 0.02));
+    }
+}
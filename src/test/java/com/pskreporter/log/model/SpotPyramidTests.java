@@ -0,0 +1,59 @@
+package com.pskreporter.log.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SpotPyramidTests {
+
+    @Test
+    void keepsEveryZoomLevelConsistent() {
+        SpotPyramid pyramid = new SpotPyramid(12);
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            pyramid.add(random.nextDouble() * 170 - 85, random.nextDouble() * 360 - 180, random.nextInt(60) - 30);
+        }
+
+        Map<Integer, SpotPyramid.Cell> world = new HashMap<>();
+        pyramid.collectTile(0, 0, 0, world);
+        assertThat(world).hasSize(SpotPyramid.CELLS_PER_TILE);
+        assertThat(world.values().stream().mapToInt(SpotPyramid.Cell::getCount).sum()).isEqualTo(100_000);
+
+        // The four tiles of zoom 1 hold the same spots as the world tile
+        int total = 0;
+        for (int x = 0; x < 2; x++) {
+            for (int y = 0; y < 2; y++) {
+                Map<Integer, SpotPyramid.Cell> tile = new HashMap<>();
+                pyramid.collectTile(1, x, y, tile);
+                assertThat(tile.size()).isLessThanOrEqualTo(SpotPyramid.CELLS_PER_TILE);
+                total += tile.values().stream().mapToInt(SpotPyramid.Cell::getCount).sum();
+            }
+        }
+        assertThat(total).isEqualTo(100_000);
+    }
+
+    @Test
+    void clustersSpotsOfOneCell() {
+        SpotPyramid pyramid = new SpotPyramid(12);
+        pyramid.add(51.505, -0.115, 5);
+        pyramid.add(51.507, -0.113, 12);
+        pyramid.add(51.506, -0.114, null);
+
+        // London at zoom 10 is tile 511/340
+        Map<Integer, SpotPyramid.Cell> tile = new HashMap<>();
+        pyramid.collectTile(10, 511, 340, tile);
+
+        assertThat(tile).hasSize(1);
+        TileCluster cluster = tile.values().iterator().next().toCluster();
+        assertThat(cluster.count()).isEqualTo(3);
+        assertThat(cluster.bestSnr()).isEqualTo(12);
+        assertThat(cluster.latitude()).isCloseTo(51.506, within(1e-9));
+        assertThat(cluster.longitude()).isCloseTo(-0.114, within(1e-9));
+        assertThat(SpotPyramid.cellOf(10, 511, 340, 51.506, -0.114)).isEqualTo(tile.keySet().iterator().next());
+    }
+}
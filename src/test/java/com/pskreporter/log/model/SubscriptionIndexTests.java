@@ -0,0 +1,111 @@
+package com.pskreporter.log.model;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class SubscriptionIndexTests {
+
+    @Test
+    void triggersMatchingRulesAboveThreshold() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        index.load(List.of(
+            new SubscriptionRule(1, 100, "W1AW", 10, 1000),
+            new SubscriptionRule(2, 200, "W1AW", 20, 5000),
+            new SubscriptionRule(3, 300, "W1*", 0, 0),
+            new SubscriptionRule(4, 400, "K1TTT", 0, 0)
+        ));
+
+        assertThat(index.triggeredSubscribers("W1AW", 15, 500)).containsExactlyInAnyOrder(100L, 300L);
+        assertThat(index.triggeredSubscribers("W1AW", 25, null)).containsExactlyInAnyOrder(100L, 200L, 300L);
+        assertThat(index.triggeredSubscribers("W1XYZ", -10, 100)).containsExactly(300L);
+        assertThat(index.hasSubscriptions("K1TTT")).isTrue();
+        assertThat(index.hasSubscriptions("G4ABC")).isFalse();
+    }
+
+    @Test
+    void updatesIncrementally() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        index.add(new SubscriptionRule(1, 100, "W1AW", 10, 1000));
+        index.add(new SubscriptionRule(2, 200, "VK*", 10, 1000));
+        index.add(new SubscriptionRule(1, 100, "W1AW", 30, 1000));
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.triggeredSubscribers("W1AW", 20, null)).isEmpty();
+
+        index.remove(new SubscriptionRule(1, 100, "W1AW", 30, 1000));
+        index.remove(new SubscriptionRule(2, 200, "VK*", 10, 1000));
+        assertThat(index.size()).isZero();
+        assertThat(index.hasSubscriptions("W1AW")).isFalse();
+        assertThat(index.hasSubscriptions("VK2ABC")).isFalse();
+    }
+
+    /**
+     * Spot evaluation with a million subscriptions.
+     * Run with {@code ./mvnw -Pbenchmark test}.
+     */
+    @Test
+    @Tag("benchmark")
+    void evaluationThroughputWithMillionSubscriptions() {
+        Random random = new Random(42);
+        String[] callsigns = new String[200_000];
+        for (int i = 0; i < callsigns.length; i++) {
+            callsigns[i] = "K" + i;
+        }
+
+        List<SubscriptionRule> rules = new ArrayList<>(1_000_000);
+        for (int i = 0; i < 1_000_000; i++) {
+            String callsign = i % 1000 == 0
+                ? "K" + random.nextInt(1000) + "*"
+                : callsigns[random.nextInt(callsigns.length)];
+            rules.add(new SubscriptionRule(i, random.nextInt(100_000), callsign,
+                                           random.nextInt(30), 500 + random.nextInt(10_000)));
+        }
+
+        SubscriptionIndex index = new SubscriptionIndex();
+        long loadStart = System.nanoTime();
+        index.load(rules);
+        long loadMs = (System.nanoTime() - loadStart) / 1_000_000;
+
+        long updateStart = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            index.add(new SubscriptionRule(2_000_000 + i, i, callsigns[random.nextInt(callsigns.length)], 10, 1000));
+        }
+        double updateMicros = (System.nanoTime() - updateStart) / 1e3 / 10_000;
+
+        String[] spots = new String[100_000];
+        int[] snr = new int[spots.length];
+        for (int i = 0; i < spots.length; i++) {
+            spots[i] = random.nextBoolean() ? callsigns[random.nextInt(callsigns.length)] : "G" + i;
+            snr[i] = random.nextInt(40) - 20;
+        }
+
+        long[] triggered = new long[1];
+        for (int warmup = 0; warmup < 5; warmup++) {
+            for (int i = 0; i < spots.length; i++) {
+                index.forEachTriggered(spots[i], snr[i], 1000, subscriber -> triggered[0]++);
+            }
+        }
+
+        int rounds = 20;
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < spots.length; i++) {
+                index.forEachTriggered(spots[i], snr[i], 1000, subscriber -> triggered[0]++);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double perSecond = (double) rounds * spots.length / (elapsed / 1e9);
+        log.info("Loaded {} subscriptions in {} ms; {} us per update; {} spots/s ({} triggers)",
+                 index.size(), loadMs, String.format("%.1f", updateMicros), Math.round(perSecond), triggered[0]);
+        assertThat(index.size()).isEqualTo(1_010_000);
+        assertThat(perSecond).isGreaterThan(500_000);
+    }
+}
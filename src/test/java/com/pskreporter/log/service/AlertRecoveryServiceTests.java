@@ -0,0 +1,178 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.repository.ReceptionReportRepository;
+import com.pskreporter.log.repository.SubscriberAlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recovery sweep over the alert backlog in the embedded test database.
+ */
+@DataJpaTest
+class AlertRecoveryServiceTests {
+
+    @Autowired
+    private ReceptionReportRepository reportRepository;
+
+    @Autowired
+    private SubscriberAlertRepository subscriberAlertRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final PSKReporterConfig config = new PSKReporterConfig();
+    private final MonitoredCallsignService callsignService = mock(MonitoredCallsignService.class);
+    private final AlertService alertService = mock(AlertService.class);
+    private final ClusterCoordinator clusterCoordinator = mock(ClusterCoordinator.class);
+
+    // Ids passed to the alert service, in order
+    private final List<Long> attempted = new ArrayList<>();
+    // Ids whose delivery fails once
+    private final Set<Long> failOnce = new HashSet<>();
+
+    private AlertRecoveryService service;
+
+    @BeforeEach
+    void setUp() {
+        config.getAlert().getRecovery().setChunkSize(2);
+        config.getAlert().getRecovery().setPauseBetweenChunksMs(0);
+        when(callsignService.isMonitored(anyString())).thenReturn(true);
+        when(clusterCoordinator.ownsCallsign(anyString())).thenReturn(true);
+        when(alertService.checkAndSendAlert(any())).thenAnswer(invocation -> {
+            ReceptionReport report = invocation.getArgument(0);
+            attempted.add(report.getId());
+            if (failOnce.remove(report.getId())) {
+                return false;
+            }
+            reportRepository.markAlertSent(report.getId());
+            report.setAlertSent(true);
+            return true;
+        });
+        service = new AlertRecoveryService(reportRepository, subscriberAlertRepository,
+            mock(SubscriptionService.class), callsignService, alertService, clusterCoordinator,
+            config, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void resumesWhereThePreviousRunStopped() {
+        config.getAlert().getRecovery().setMaxChunksPerRun(1);
+        long first = save("W1AW");
+        long second = save("W1AW");
+        long third = save("W1AW");
+
+        service.sweep();
+        assertThat(attempted).containsExactly(first, second);
+
+        attempted.clear();
+        service.sweep();
+        assertThat(attempted).containsExactly(third);
+
+        // The end was reached, so the next run starts over and only finds the new report
+        long late = save("W1AW");
+        attempted.clear();
+        service.sweep();
+        assertThat(attempted).containsExactly(late);
+    }
+
+    @Test
+    void stopsAtFailedDeliveryAndRetriesItNextRun() {
+        long first = save("W1AW");
+        long second = save("W1AW");
+        long third = save("W1AW");
+        failOnce.add(second);
+
+        service.sweep();
+        assertThat(attempted).containsExactly(first, second);
+        assertThat(alertSent(second)).isFalse();
+
+        attempted.clear();
+        service.sweep();
+        assertThat(attempted).containsExactly(second, third);
+        assertThat(alertSent(second)).isTrue();
+        assertThat(alertSent(third)).isTrue();
+    }
+
+    @Test
+    void skipsReportsOfCallsignsNoLongerMonitored() {
+        when(callsignService.isMonitored("OLD1")).thenReturn(false);
+        long stale = save("OLD1");
+        long live = save("W1AW");
+
+        service.sweep();
+        assertThat(attempted).containsExactly(live);
+        assertThat(alertSent(stale)).isFalse();
+        assertThat(column("alert_skipped", stale, Boolean.class)).isTrue();
+
+        // Settled, so later runs do not read it again
+        verifyNextRunAttemptsNothing();
+    }
+
+    @Test
+    void assignsMissingPartitionsInClusterMode() {
+        config.getCluster().setEnabled(true);
+        when(clusterCoordinator.getOwnedPartitions()).thenReturn(Set.of(5));
+        when(clusterCoordinator.partitionOf("W1AW")).thenReturn(5);
+        when(clusterCoordinator.partitionOf("K2ABC")).thenReturn(9);
+        when(clusterCoordinator.ownsCallsign("K2ABC")).thenReturn(false);
+        long owned = save("W1AW");
+        long foreign = save("K2ABC");
+
+        service.sweep();
+        assertThat(attempted).containsExactly(owned);
+        assertThat(column("callsign_partition", owned, Integer.class)).isEqualTo(5);
+        assertThat(column("callsign_partition", foreign, Integer.class)).isEqualTo(9);
+        // Left pending for the owner of its partition
+        assertThat(alertSent(foreign)).isFalse();
+
+        verifyNextRunAttemptsNothing();
+    }
+
+    private void verifyNextRunAttemptsNothing() {
+        attempted.clear();
+        service.sweep();
+        assertThat(attempted).isEmpty();
+    }
+
+    private long save(String txCallsign) {
+        return reportRepository.save(ReceptionReport.builder()
+            .txCallsign(txCallsign)
+            .rxCallsign("K2ABC")
+            .frequency(14_074_000L)
+            .mode("FT8")
+            .snr(15)
+            .distance(1200)
+            .timestamp(LocalDateTime.now())
+            .build()).getId();
+    }
+
+    private boolean alertSent(long id) {
+        return column("alert_sent", id, Boolean.class);
+    }
+
+    // Read past the persistence context, which the bulk updates bypass
+    private <T> T column(String name, long id, Class<T> type) {
+        return jdbcTemplate.queryForObject("SELECT " + name + " FROM reception_reports WHERE id = ?", type, id);
+    }
+}
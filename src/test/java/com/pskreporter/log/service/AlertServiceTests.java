@@ -0,0 +1,110 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.AlertMessage;
+import com.pskreporter.log.repository.ReceptionReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlertServiceTests {
+
+    private final ReceptionReportRepository repository = mock(ReceptionReportRepository.class);
+    private final PSKReporterConfig config = new PSKReporterConfig();
+    private final RecordingChannel email = new RecordingChannel("email", false);
+    private final RecordingChannel webhook = new RecordingChannel("webhook", true);
+
+    private AlertService alertService;
+
+    @BeforeEach
+    void setUp() {
+        config.getAlert().setRecipients(List.of("ops@example.com", "dx@example.com"));
+        config.getAlert().setWebhookUrls(List.of("https://example.com/hook"));
+        alertService = new AlertService(List.of(email, webhook), config, repository);
+        when(repository.markAlertSent(1L)).thenReturn(1);
+    }
+
+    @Test
+    void routesEachDestinationToItsChannel() {
+        assertThat(alertService.checkAndSendAlert(report())).isTrue();
+
+        assertThat(email.sent).containsExactly(List.of("ops@example.com", "dx@example.com"));
+        assertThat(webhook.sent).containsExactly(List.of("https://example.com/hook"));
+    }
+
+    @Test
+    void webhookFailureDoesNotReleaseTheClaim() {
+        webhook.accept = false;
+
+        assertThat(alertService.checkAndSendAlert(report())).isTrue();
+
+        verify(repository, never()).releaseAlertSent(1L);
+        assertThat(email.sent).hasSize(1);
+    }
+
+    @Test
+    void emailFailureReleasesTheClaim() {
+        email.accept = false;
+
+        assertThat(alertService.checkAndSendAlert(report())).isFalse();
+
+        verify(repository).releaseAlertSent(1L);
+    }
+
+    private static ReceptionReport report() {
+        return ReceptionReport.builder()
+            .id(1L)
+            .txCallsign("W1AW")
+            .rxCallsign("JA1XYZ")
+            .frequency(14_074_000L)
+            .snr(20)
+            .distance(10_800)
+            .timestamp(LocalDateTime.of(2024, 1, 15, 12, 0))
+            .alertSent(false)
+            .build();
+    }
+
+    private static final class RecordingChannel implements AlertChannel {
+
+        private final String name;
+        private final boolean ownsDelivery;
+        private final List<List<String>> sent = new ArrayList<>();
+        private boolean accept = true;
+
+        RecordingChannel(String name, boolean ownsDelivery) {
+            this.name = name;
+            this.ownsDelivery = ownsDelivery;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean supports(String destination) {
+            return destination.startsWith("https://") == ownsDelivery;
+        }
+
+        @Override
+        public boolean ownsDelivery() {
+            return ownsDelivery;
+        }
+
+        @Override
+        public boolean send(List<String> destinations, AlertMessage message) {
+            sent.add(destinations);
+            return accept;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.model.Band;
+import com.pskreporter.log.model.PropagationEvent;
+import com.pskreporter.log.model.Region;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BandOpeningDetectorTests {
+
+    private BandOpeningDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new BandOpeningDetector(new PSKReporterConfig(), mock(AlertService.class), mock(ClusterCoordinator.class));
+        detector.init();
+    }
+
+    @Test
+    void detectsRateJumpOverBaseline() {
+        List<PropagationEvent> events = new ArrayList<>();
+        for (long minute = 0; minute < 60; minute++) {
+            int spots = minute >= 40 && minute < 45 ? 10 : 1;
+            for (int i = 0; i < spots; i++) {
+                events.addAll(detector.record(Band.BAND_20M, Region.NA, Region.AS, minute));
+            }
+            // Steady traffic on another path must not alert
+            events.addAll(detector.record(Band.BAND_40M, Region.EU, Region.EU, minute));
+        }
+        events.addAll(detector.advanceTo(60));
+
+        // One alert for the opening; the cooldown suppresses the following minutes
+        assertThat(events).hasSize(1);
+        PropagationEvent event = events.get(0);
+        assertThat(event.pathKey()).isEqualTo("20m:NA-AS");
+        assertThat(event.windowSpots()).isGreaterThanOrEqualTo(20);
+        assertThat(event.baselinePerMinute()).isBetween(0.5, 1.0);
+    }
+
+    @Test
+    void staysQuietDuringWarmUp() {
+        List<PropagationEvent> events = new ArrayList<>();
+        for (long minute = 0; minute < 10; minute++) {
+            for (int i = 0; i < 50; i++) {
+                events.addAll(detector.record(Band.BAND_15M, Region.EU, Region.OC, minute));
+            }
+        }
+        events.addAll(detector.advanceTo(10));
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void locatesRegions() {
+        assertThat(Region.fromLatLon(42.36, -71.06)).isEqualTo(Region.NA);
+        assertThat(Region.fromLatLon(-34.6, -58.4)).isEqualTo(Region.SA);
+        assertThat(Region.fromLatLon(51.5, -0.1)).isEqualTo(Region.EU);
+        assertThat(Region.fromLatLon(-26.2, 28.0)).isEqualTo(Region.AF);
+        assertThat(Region.fromLatLon(35.7, 139.7)).isEqualTo(Region.AS);
+        assertThat(Region.fromLatLon(-33.9, 151.2)).isEqualTo(Region.OC);
+        assertThat(Region.fromLatLon(-75.0, 0.0)).isNull();
+    }
+}
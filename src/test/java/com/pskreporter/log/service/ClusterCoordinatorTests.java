@@ -0,0 +1,146 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.repository.ClusterNodeRepository;
+import com.pskreporter.log.repository.PartitionLeaseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs several cluster nodes in one JVM against the embedded test database.
+ */
+@DataJpaTest
+class ClusterCoordinatorTests {
+
+    private static final int PARTITIONS = 16;
+
+    @Autowired
+    private ClusterNodeRepository nodeRepository;
+
+    @Autowired
+    private PartitionLeaseRepository leaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void nodesSplitAllPartitionsWithoutOverlap() {
+        ClusterCoordinator a = node("a");
+        ClusterCoordinator b = node("b");
+        ClusterCoordinator c = node("c");
+        a.seedPartitions();
+
+        for (int round = 0; round < 3; round++) {
+            Instant now = start.plusSeconds(round);
+            a.heartbeat(now);
+            b.heartbeat(now);
+            c.heartbeat(now);
+        }
+
+        assertPartitionedBetween(a, b, c);
+        assertThat(owned(a)).hasSizeLessThanOrEqualTo(6);
+        assertThat(owned(b)).hasSizeLessThanOrEqualTo(6);
+        assertThat(owned(c)).hasSizeLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void survivorsTakeOverPartitionsOfDeadNode() {
+        ClusterCoordinator a = node("a");
+        ClusterCoordinator b = node("b");
+        ClusterCoordinator c = node("c");
+        a.seedPartitions();
+
+        for (int round = 0; round < 3; round++) {
+            Instant now = start.plusSeconds(round);
+            a.heartbeat(now);
+            b.heartbeat(now);
+            c.heartbeat(now);
+        }
+        assertThat(owned(c)).isNotEmpty();
+
+        // c stops heartbeating; its leases expire after 30 seconds
+        for (int round = 0; round < 3; round++) {
+            Instant now = start.plusSeconds(40 + round);
+            a.heartbeat(now);
+            b.heartbeat(now);
+        }
+
+        assertThat(owned(c)).isEmpty();
+        assertPartitionedBetween(a, b);
+        assertThat(a.getOwnedPartitions()).hasSize(PARTITIONS / 2);
+        assertThat(b.getOwnedPartitions()).hasSize(PARTITIONS / 2);
+    }
+
+    @Test
+    void claimsAreNotTrustedUntilCommitted() {
+        PlatformTransactionManager failingCommit = mock(PlatformTransactionManager.class);
+        doThrow(new TransactionSystemException("commit failed")).when(failingCommit).commit(any());
+        ClusterCoordinator a = node("a", new TransactionTemplate(failingCommit));
+        a.seedPartitions();
+
+        assertThatThrownBy(() -> a.heartbeat(start)).isInstanceOf(TransactionSystemException.class);
+
+        assertThat(owned(a)).hasSize(PARTITIONS);
+        assertThat(a.getOwnedPartitions()).isEmpty();
+        assertThat(a.ownsCallsign("W1AW")).isFalse();
+    }
+
+    @Test
+    void everyNodeMapsCallsignToSamePartition() {
+        ClusterCoordinator a = node("a");
+        ClusterCoordinator b = node("b");
+
+        for (String callsign : List.of("W1AW", "K1TTT", "N0CALL", "VK2XYZ")) {
+            assertThat(a.partitionOf(callsign)).isEqualTo(b.partitionOf(callsign));
+        }
+    }
+
+    private void assertPartitionedBetween(ClusterCoordinator... nodes) {
+        Set<Integer> all = new HashSet<>();
+        int total = 0;
+        for (ClusterCoordinator node : nodes) {
+            List<Integer> owned = owned(node);
+            assertThat(node.getOwnedPartitions()).containsExactlyInAnyOrderElementsOf(owned);
+            all.addAll(owned);
+            total += owned.size();
+        }
+        assertThat(total).isEqualTo(PARTITIONS);
+        assertThat(all).hasSize(PARTITIONS);
+    }
+
+    private List<Integer> owned(ClusterCoordinator node) {
+        return leaseRepository.findPartitionIdsByOwner(node.getNodeId());
+    }
+
+    private ClusterCoordinator node(String nodeId) {
+        return node(nodeId, new TransactionTemplate(transactionManager));
+    }
+
+    private ClusterCoordinator node(String nodeId, TransactionTemplate transactionTemplate) {
+        PSKReporterConfig config = new PSKReporterConfig();
+        config.getCluster().setEnabled(true);
+        config.getCluster().setNodeId(nodeId);
+        config.getCluster().setPartitions(PARTITIONS);
+        config.getCluster().setLeaseDurationMs(30_000);
+        ClusterCoordinator coordinator = new ClusterCoordinator(config, nodeRepository, leaseRepository, transactionTemplate);
+        coordinator.init();
+        return coordinator;
+    }
+}
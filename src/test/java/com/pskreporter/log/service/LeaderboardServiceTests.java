@@ -0,0 +1,105 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.LeaderboardSnapshot;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.Leaderboard;
+import com.pskreporter.log.model.LeaderboardMetric;
+import com.pskreporter.log.repository.LeaderboardSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Flush and eviction of leaderboards against the embedded test database.
+ */
+@DataJpaTest
+class LeaderboardServiceTests {
+
+    @Autowired
+    private LeaderboardSnapshotRepository snapshotRepository;
+
+    private final PSKReporterConfig config = new PSKReporterConfig();
+    private final ClusterCoordinator clusterCoordinator = mock(ClusterCoordinator.class);
+    private final LocalDate yesterday = LocalDate.now().minusDays(1);
+
+    private LeaderboardService service;
+
+    @BeforeEach
+    void setUp() {
+        config.getLeaderboard().setRetentionDays(2);
+        when(clusterCoordinator.ownsCallsign(anyString())).thenReturn(true);
+        service = new LeaderboardService(snapshotRepository, config, clusterCoordinator);
+    }
+
+    @Test
+    void flushesChangedBoardsAndEvictsExpiredDays() {
+        service.record(report("K2ABC", 1200));
+        service.record(report("W3DEF", 800));
+        service.flush();
+
+        LeaderboardSnapshot snapshot = stored(LeaderboardMetric.DISTANCE);
+        assertThat(Leaderboard.decode(snapshot.getEntries(), 10).ranked())
+            .extracting(Leaderboard.Entry::rxCallsign).containsExactly("K2ABC", "W3DEF");
+
+        // Nothing changed, so nothing is written
+        LocalDateTime updatedAt = snapshot.getUpdatedAt();
+        service.flush();
+        assertThat(stored(LeaderboardMetric.DISTANCE).getUpdatedAt()).isEqualTo(updatedAt);
+
+        // Past the retention window the board is flushed once more and then served from its snapshot
+        service.record(report("JA1XYZ", 9000));
+        config.getLeaderboard().setRetentionDays(0);
+        service.flush();
+        assertThat(Leaderboard.decode(stored(LeaderboardMetric.DISTANCE).getEntries(), 10).ranked())
+            .extracting(Leaderboard.Entry::rxCallsign).containsExactly("JA1XYZ", "K2ABC", "W3DEF");
+        snapshotRepository.deleteAll();
+        assertThat(service.getLeaderboard("W1AW", yesterday, LeaderboardMetric.DISTANCE)).isEmpty();
+    }
+
+    @Test
+    void flushMergesWithEntriesOfAnotherNode() {
+        service.record(report("K2ABC", 1200));
+        service.flush();
+
+        // The partition moves to another node, which adds its own receptions
+        LeaderboardService other = new LeaderboardService(snapshotRepository, config, clusterCoordinator);
+        other.record(report("VK2XX", 15_000));
+        other.flush();
+
+        // This node still flushes a late reception, without dropping the other node's entry
+        service.record(report("W3DEF", 800));
+        when(clusterCoordinator.ownsCallsign(anyString())).thenReturn(false);
+        service.flush();
+
+        assertThat(Leaderboard.decode(stored(LeaderboardMetric.DISTANCE).getEntries(), 10).ranked())
+            .extracting(Leaderboard.Entry::rxCallsign).containsExactly("VK2XX", "K2ABC", "W3DEF");
+        // No longer owned, so the board is read from the snapshot
+        assertThat(service.getLeaderboard("W1AW", yesterday, LeaderboardMetric.DISTANCE)).hasSize(3);
+    }
+
+    private LeaderboardSnapshot stored(LeaderboardMetric metric) {
+        return snapshotRepository.findByCallsignAndReportDateAndMetric("W1AW", yesterday, metric).orElseThrow();
+    }
+
+    private ReceptionReport report(String rxCallsign, int distance) {
+        return ReceptionReport.builder()
+            .txCallsign("W1AW")
+            .rxCallsign(rxCallsign)
+            .frequency(14_074_000L)
+            .mode("FT8")
+            .snr(-10)
+            .distance(distance)
+            .timestamp(yesterday.atTime(12, 0))
+            .build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.ExportFormat;
+import com.pskreporter.log.repository.ReceptionReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports reports from the embedded test database and decodes the files.
+ */
+@DataJpaTest
+class ReportExportServiceTests {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 15, 12, 30, 5);
+
+    @Autowired
+    private ReceptionReportRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ReportExportService service;
+
+    @BeforeEach
+    void setUp() {
+        PSKReporterConfig config = new PSKReporterConfig();
+        config.getExport().setBufferSize(512);
+        service = new ReportExportService(jdbcTemplate, transactionManager, config);
+
+        repository.saveAllAndFlush(List.of(
+            report("W1AW", "K2ABC", 14_074_123L, "FT8", -12, 41.729, -72.708, 40.5, -75.0, TIME.plusMinutes(1)),
+            report("W1AW", "JA1XYZ", 7_074_000L, "A,\"B\"", null, null, null, null, null, TIME),
+            // Outside the time range and of another callsign
+            report("W1AW", "G4ABC", 14_074_000L, "FT8", 0, 0.0, 0.0, 0.0, 0.0, TIME.plusDays(1)),
+            report("K1TTT", "K2ABC", 14_074_000L, "FT8", 0, 0.0, 0.0, 0.0, 0.0, TIME)
+        ));
+    }
+
+    @Test
+    void exportsCsvInTimestampOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export("W1AW", TIME, TIME.plusHours(1), ExportFormat.CSV, out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(gunzip(out.toByteArray()).split("\n")).containsExactly(
+            "timestamp,tx_callsign,rx_callsign,frequency_hz,band,mode,snr_db,distance_km," +
+                "tx_latitude,tx_longitude,rx_latitude,rx_longitude",
+            "2024-01-15T12:30:05,W1AW,JA1XYZ,7074000,40m,\"A,\"\"B\"\"\",,,,,,",
+            "2024-01-15T12:31:05,W1AW,K2ABC,14074123,20m,FT8,-12,420,41.729,-72.708,40.5,-75.0"
+        );
+    }
+
+    @Test
+    void exportsAdifRecords() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export("W1AW", TIME.plusMinutes(1), TIME.plusHours(1), ExportFormat.ADIF, out);
+
+        assertThat(gunzip(out.toByteArray())).isEqualTo(
+            "PSKReporter Log reception export\n" +
+            "<ADIF_VER:5>3.1.4<PROGRAMID:14>PSKReporterLog<EOH>\n" +
+            "<CALL:5>K2ABC<STATION_CALLSIGN:4>W1AW" + adifTime(TIME.plusMinutes(1)) +
+            "<FREQ:9>14.074123<BAND:3>20m<MODE:3>FT8<GRIDSQUARE:6>FN20mm<MY_GRIDSQUARE:6>FN31pr" +
+            "<DISTANCE:3>420<APP_PSKREPORTERLOG_SNR:3>-12<EOR>\n"
+        );
+    }
+
+    @Test
+    void writesAdifTimesInUtcAndSubmodesUnderTheirMode() throws IOException {
+        // Stored the way the packet parser stores it, in the server's zone
+        LocalDateTime lateEvening = LocalDateTime.ofInstant(Instant.parse("2024-01-15T23:30:00Z"), ZoneId.systemDefault());
+        repository.saveAllAndFlush(List.of(
+            report("VK2XYZ", "K2ABC", 14_080_000L, "FT4", null, null, null, null, null, lateEvening),
+            report("VK2XYZ", "JA1XYZ", 14_070_000L, "psk31", null, null, null, null, null, lateEvening.plusSeconds(1)),
+            report("VK2XYZ", "G4ABC", 14_074_000L, "FT8", null, null, null, null, null, lateEvening.plusSeconds(2))
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export("VK2XYZ", lateEvening, lateEvening.plusHours(1), ExportFormat.ADIF, out);
+
+        assertThat(gunzip(out.toByteArray()).split("\n")).containsSubsequence(
+            "<CALL:5>K2ABC<STATION_CALLSIGN:6>VK2XYZ<QSO_DATE:8>20240115<TIME_ON:6>233000" +
+                "<FREQ:9>14.080000<BAND:3>20m<MODE:4>MFSK<SUBMODE:3>FT4<EOR>",
+            "<CALL:6>JA1XYZ<STATION_CALLSIGN:6>VK2XYZ<QSO_DATE:8>20240115<TIME_ON:6>233001" +
+                "<FREQ:9>14.070000<BAND:3>20m<MODE:3>PSK<SUBMODE:5>PSK31<EOR>",
+            "<CALL:5>G4ABC<STATION_CALLSIGN:6>VK2XYZ<QSO_DATE:8>20240115<TIME_ON:6>233002" +
+                "<FREQ:9>14.074000<BAND:3>20m<MODE:3>FT8<EOR>"
+        );
+    }
+
+    @Test
+    void limitsConcurrentExports() {
+        PSKReporterConfig config = new PSKReporterConfig();
+        config.getExport().setMaxConcurrent(2);
+        ReportExportService limited = new ReportExportService(jdbcTemplate, transactionManager, config);
+        limited.init();
+
+        assertThat(limited.tryStart()).isTrue();
+        assertThat(limited.tryStart()).isTrue();
+        assertThat(limited.tryStart()).isFalse();
+        limited.finish();
+        assertThat(limited.tryStart()).isTrue();
+    }
+
+    @Test
+    void writesOneCompleteGzipMemberEvenWithoutRows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export("N0CALL", TIME, TIME.plusHours(1), ExportFormat.CSV, out);
+
+        byte[] bytes = out.toByteArray();
+        assertThat(rows).isZero();
+        assertThat(bytes[0] & 0xff).isEqualTo(0x1f);
+        assertThat(bytes[1] & 0xff).isEqualTo(0x8b);
+        // Decoding to the end validates the trailer, so the stream was finished
+        assertThat(gunzip(bytes)).startsWith("timestamp,").endsWith("rx_longitude\n");
+    }
+
+    private static String adifTime(LocalDateTime local) {
+        ZonedDateTime utc = local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC);
+        return "<QSO_DATE:8>" + utc.format(DateTimeFormatter.ofPattern("yyyyMMdd")) +
+            "<TIME_ON:6>" + utc.format(DateTimeFormatter.ofPattern("HHmmss"));
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static ReceptionReport report(String tx, String rx, long frequency, String mode, Integer snr,
+                                          Double txLatitude, Double txLongitude, Double rxLatitude, Double rxLongitude,
+                                          LocalDateTime timestamp) {
+        return ReceptionReport.builder()
+            .txCallsign(tx)
+            .rxCallsign(rx)
+            .frequency(frequency)
+            .mode(mode)
+            .snr(snr)
+            .txLatitude(txLatitude)
+            .txLongitude(txLongitude)
+            .rxLatitude(rxLatitude)
+            .rxLongitude(rxLongitude)
+            .distance(snr != null ? 420 : null)
+            .timestamp(timestamp)
+            .alertSent(false)
+            .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.Band;
+import com.pskreporter.log.model.ReceptionReportSummary;
+import com.pskreporter.log.model.ReportQuery;
+import com.pskreporter.log.repository.ReceptionReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the criteria queries against the embedded test database.
+ */
+@DataJpaTest
+class ReportQueryServiceTests {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 15, 12, 0);
+
+    @Autowired
+    private ReceptionReportRepository repository;
+
+    private ReportQueryService service;
+    private ReceptionReport ft8;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReportQueryService(repository);
+        ft8 = repository.save(report("W1AW", "K2ABC", 14_074_000L, "FT8", -12, 300, TIME));
+        repository.save(report("W1AW", "JA1XYZ", 14_080_000L, "FT4", 3, 10_800, TIME.plusMinutes(1)));
+        repository.save(report("W1AW", "K2ABC", 7_074_000L, "FT8", -20, 300, TIME.plusMinutes(2)));
+        repository.save(report("G4ABC", "K2ABC", 14_074_000L, "FT8", 0, 5_500, TIME.plusMinutes(3)));
+    }
+
+    @Test
+    void returnsEverythingNewestFirstWithoutFilters() {
+        List<ReceptionReportSummary> results = service.search(new ReportQuery());
+
+        assertThat(results).extracting(ReceptionReportSummary::timestamp)
+            .containsExactly(TIME.plusMinutes(3), TIME.plusMinutes(2), TIME.plusMinutes(1), TIME);
+    }
+
+    @Test
+    void combinesFilters() {
+        assertThat(service.search(ReportQuery.builder().txCallsign(" w1aw ").band(Band.BAND_20M).build()))
+            .extracting(ReceptionReportSummary::rxCallsign).containsExactly("JA1XYZ", "K2ABC");
+        assertThat(service.search(ReportQuery.builder().rxCallsign("k2abc").mode("FT8").minSnr(-15).build()))
+            .extracting(ReceptionReportSummary::txCallsign).containsExactly("G4ABC", "W1AW");
+        assertThat(service.search(ReportQuery.builder().minSnr(-12).maxSnr(0).minDistance(1000).maxDistance(6000).build()))
+            .extracting(ReceptionReportSummary::txCallsign).containsExactly("G4ABC");
+        // From is inclusive, to is exclusive
+        assertThat(service.search(ReportQuery.builder().from(TIME.plusMinutes(1)).to(TIME.plusMinutes(3)).build()))
+            .extracting(ReceptionReportSummary::frequency).containsExactly(7_074_000L, 14_080_000L);
+        assertThat(service.search(ReportQuery.builder().txCallsign("W1AW").band(Band.BAND_40M).mode("FT4").build()))
+            .isEmpty();
+    }
+
+    @Test
+    void capsLimit() {
+        ReportQuery tooLarge = ReportQuery.builder().limit(50_000).build();
+        service.search(tooLarge);
+        assertThat(tooLarge.getLimit()).isEqualTo(1000);
+
+        assertThat(service.search(ReportQuery.builder().limit(0).build())).hasSize(1);
+        assertThat(service.search(ReportQuery.builder().limit(2).build()))
+            .extracting(ReceptionReportSummary::timestamp).containsExactly(TIME.plusMinutes(3), TIME.plusMinutes(2));
+    }
+
+    @Test
+    void mapsEveryColumnIntoTheProjection() {
+        ReceptionReportSummary expected = new ReceptionReportSummary(ft8.getId(), "W1AW", "K2ABC", 14_074_000L, -12,
+            "FT8", 41.7, -72.7, 40.5, -75.0, 300, TIME, false);
+
+        assertThat(service.search(ReportQuery.builder().from(TIME).to(TIME.plusSeconds(1)).build())).containsExactly(expected);
+        assertThat(service.findById(ft8.getId())).contains(expected);
+        assertThat(service.findById(-1L)).isEmpty();
+    }
+
+    private static ReceptionReport report(String tx, String rx, long frequency, String mode, int snr, int distance,
+                                          LocalDateTime timestamp) {
+        return ReceptionReport.builder()
+            .txCallsign(tx)
+            .rxCallsign(rx)
+            .frequency(frequency)
+            .mode(mode)
+            .snr(snr)
+            .txLatitude(41.7)
+            .txLongitude(-72.7)
+            .rxLatitude(40.5)
+            .rxLongitude(-75.0)
+            .distance(distance)
+            .timestamp(timestamp)
+            .alertSent(false)
+            .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.HourlySketch;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.repository.HourlySketchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Flush and eviction of hourly sketches against the embedded test database.
+ */
+@DataJpaTest
+class SketchServiceTests {
+
+    @Autowired
+    private HourlySketchRepository sketchRepository;
+
+    private final PSKReporterConfig config = new PSKReporterConfig();
+    private final ClusterCoordinator clusterCoordinator = mock(ClusterCoordinator.class);
+    private final LocalDateTime lastHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+
+    private SketchService service;
+
+    @BeforeEach
+    void setUp() {
+        config.getSketch().setRetentionHours(2);
+        when(clusterCoordinator.ownsCallsign(anyString())).thenReturn(true);
+        service = new SketchService(sketchRepository, config, clusterCoordinator);
+    }
+
+    @Test
+    void flushesEachReceptionOnce() {
+        service.record(report("K2ABC", 1200));
+        service.record(report("W3DEF", 800));
+        service.flush();
+        assertThat(stored().getSpotCount()).isEqualTo(2);
+
+        // Nothing changed, so nothing is written
+        LocalDateTime updatedAt = stored().getUpdatedAt();
+        service.flush();
+        assertThat(stored().getUpdatedAt()).isEqualTo(updatedAt);
+
+        service.record(report("JA1XYZ", 9000));
+        service.flush();
+        assertThat(stored().getSpotCount()).isEqualTo(3);
+        assertThat(service.getStats("W1AW", null, lastHour, lastHour.plusHours(1)).spots()).isEqualTo(3);
+    }
+
+    @Test
+    void flushMergesWithSketchOfAnotherNode() {
+        service.record(report("K2ABC", 1200));
+        service.flush();
+
+        // The partition moves to another node, which adds its own receptions
+        SketchService other = new SketchService(sketchRepository, config, clusterCoordinator);
+        other.record(report("VK2XX", 15_000));
+        other.record(report("ZL1AA", 16_000));
+        other.flush();
+        assertThat(stored().getSpotCount()).isEqualTo(3);
+
+        // This node still flushes a late reception, without dropping the other node's receptions
+        service.record(report("W3DEF", 800));
+        when(clusterCoordinator.ownsCallsign(anyString())).thenReturn(false);
+        service.flush();
+
+        assertThat(stored().getSpotCount()).isEqualTo(4);
+        // No longer owned, so the stored sketch is served instead of a stale in-memory copy
+        assertThat(service.getStats("W1AW", null, lastHour, lastHour.plusHours(1)).spots()).isEqualTo(4);
+    }
+
+    private HourlySketch stored() {
+        return sketchRepository.findByCallsignAndBandAndHourStart("W1AW", "20m", lastHour).orElseThrow();
+    }
+
+    private ReceptionReport report(String rxCallsign, int distance) {
+        return ReceptionReport.builder()
+            .txCallsign("W1AW")
+            .rxCallsign(rxCallsign)
+            .frequency(14_074_000L)
+            .mode("FT8")
+            .snr(-10)
+            .distance(distance)
+            .timestamp(lastHour.plusMinutes(30))
+            .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.entity.Subscriber;
+import com.pskreporter.log.entity.SubscriberAlert;
+import com.pskreporter.log.entity.Subscription;
+import com.pskreporter.log.repository.ReceptionReportRepository;
+import com.pskreporter.log.repository.SubscriberAlertRepository;
+import com.pskreporter.log.repository.SubscriberRepository;
+import com.pskreporter.log.repository.SubscriptionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Subscriber alert delivery against the embedded test database. Each test
+ * commits, like ingest does, so alerts are handed to the delivery pool.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SubscriptionServiceTests {
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SubscriberAlertRepository alertRepository;
+
+    @Autowired
+    private ReceptionReportRepository reportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final PSKReporterConfig config = new PSKReporterConfig();
+    private final AlertService alertService = mock(AlertService.class);
+
+    private TransactionTemplate transactionTemplate;
+    private SubscriptionService service;
+    private Subscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        config.getAlert().getSubscriberDelivery().setThreads(1);
+        config.getAlert().getSubscriberDelivery().setMaxQueueSize(1);
+        when(alertService.sendSubscriberAlert(any(), any())).thenReturn(true);
+
+        subscriber = subscriberRepository.save(Subscriber.builder()
+            .name("Alice")
+            .email("alice@example.com")
+            .build());
+        subscriptionRepository.save(Subscription.builder()
+            .subscriberId(subscriber.getId())
+            .callsign("W1AW")
+            .build());
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        service = new SubscriptionService(subscriberRepository, subscriptionRepository, alertRepository,
+            alertService, config, jdbcTemplate, transactionTemplate);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        jdbcTemplate.update("DELETE FROM subscriber_alerts");
+        jdbcTemplate.update("DELETE FROM subscriptions");
+        jdbcTemplate.update("DELETE FROM subscribers");
+        jdbcTemplate.update("DELETE FROM reception_reports");
+    }
+
+    @Test
+    void releasesAlertWhoseSendFailed() {
+        when(alertService.sendSubscriberAlert(any(), any())).thenReturn(false);
+        ReceptionReport report = saveReport();
+        SubscriberAlert alert = saveAlert(report);
+
+        assertThat(service.deliver(alert, report)).isFalse();
+        assertThat(pending()).extracting(SubscriberAlert::getId).containsExactly(alert.getId());
+    }
+
+    @Test
+    void sendsEachAlertOnce() {
+        ReceptionReport report = saveReport();
+        SubscriberAlert alert = saveAlert(report);
+
+        assertThat(service.deliver(alert, report)).isTrue();
+        // e.g. the recovery sweep read the alert before the pool claimed it
+        assertThat(service.deliver(alert, report)).isTrue();
+
+        verify(alertService, times(1)).sendSubscriberAlert(any(), any());
+        assertThat(pending()).isEmpty();
+    }
+
+    @Test
+    void settlesAlertOfDeletedSubscriberWithoutSending() {
+        ReceptionReport report = saveReport();
+        SubscriberAlert alert = saveAlert(report);
+        transactionTemplate.execute(status -> service.deleteSubscriber(subscriber.getId()));
+
+        assertThat(service.deliver(alert, report)).isTrue();
+
+        verify(alertService, never()).sendSubscriberAlert(any(), any());
+        assertThat(pending()).isEmpty();
+    }
+
+    @Test
+    void leavesAlertsThatDoNotFitInTheQueueToTheSweep() throws InterruptedException {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger sent = new AtomicInteger();
+        when(alertService.sendSubscriberAlert(any(), any())).thenAnswer(invocation -> {
+            sending.countDown();
+            boolean released = release.await(10, TimeUnit.SECONDS);
+            sent.incrementAndGet();
+            return released;
+        });
+
+        // The first alert occupies the only delivery thread, the second the only queue slot
+        notifyAfterCommit();
+        assertThat(sending.await(10, TimeUnit.SECONDS)).isTrue();
+        notifyAfterCommit();
+        ReceptionReport rejected = notifyAfterCommit();
+
+        release.countDown();
+        waitUntil(() -> sent.get() == 2);
+
+        List<SubscriberAlert> left = pending();
+        assertThat(left).extracting(SubscriberAlert::getReportId).containsExactly(rejected.getId());
+
+        assertThat(service.deliver(left.get(0), rejected)).isTrue();
+        assertThat(pending()).isEmpty();
+    }
+
+    private ReceptionReport notifyAfterCommit() {
+        return transactionTemplate.execute(status -> {
+            ReceptionReport report = saveReport();
+            service.notifySubscribers(report);
+            return report;
+        });
+    }
+
+    private ReceptionReport saveReport() {
+        return reportRepository.save(ReceptionReport.builder()
+            .txCallsign("W1AW")
+            .rxCallsign("K2ABC")
+            .frequency(14_074_000L)
+            .mode("FT8")
+            .snr(15)
+            .distance(1200)
+            .timestamp(LocalDateTime.now())
+            .build());
+    }
+
+    private SubscriberAlert saveAlert(ReceptionReport report) {
+        return alertRepository.save(SubscriberAlert.builder()
+            .reportId(report.getId())
+            .subscriberId(subscriber.getId())
+            .build());
+    }
+
+    private List<SubscriberAlert> pending() {
+        return alertRepository.findPending(0, PageRequest.of(0, 10));
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,125 @@
+package com.pskreporter.log.service;
+
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.entity.ReceptionReport;
+import com.pskreporter.log.model.TileAggregate;
+import com.pskreporter.log.repository.ReceptionReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Serves tiles from reports in the embedded test database.
+ */
+@DataJpaTest
+class TileServiceTests {
+
+    // Tile 2/1/1 at zoom 2 covers North America
+    private static final double NA_LATITUDE = 40.5;
+    private static final double NA_LONGITUDE = -75.0;
+
+    @Autowired
+    private ReceptionReportRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final PSKReporterConfig config = new PSKReporterConfig();
+    private final ClusterCoordinator clusterCoordinator = mock(ClusterCoordinator.class);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private TileService tileService;
+
+    @BeforeEach
+    void setUp() {
+        when(clusterCoordinator.ownsCallsign(anyString())).thenReturn(true);
+        tileService = new TileService(jdbcTemplate, clusterCoordinator, config);
+        tileService.init();
+    }
+
+    @Test
+    void selectsBucketsOfRequestedRangeAndTile() {
+        save("W1AW", NA_LATITUDE, NA_LONGITUDE, now.minusMinutes(5));
+        save("W1AW", NA_LATITUDE, NA_LONGITUDE, now.minusHours(3));
+        save("W1AW", NA_LATITUDE, NA_LONGITUDE, now.minusHours(30));
+        // Other tile and other callsign
+        save("W1AW", 35.7, 139.7, now.minusMinutes(5));
+        save("K1TTT", NA_LATITUDE, NA_LONGITUDE, now.minusMinutes(5));
+
+        assertThat(tileService.getTile("W1AW", 2, 1, 1, 60).spots()).isEqualTo(1);
+        assertThat(tileService.getTile("W1AW", 2, 1, 1, 240).spots()).isEqualTo(2);
+        assertThat(tileService.getTile("W1AW", 0, 0, 0, 240).spots()).isEqualTo(3);
+        assertThat(tileService.getTile("N0CALL", 2, 1, 1, 240).spots()).isZero();
+    }
+
+    @Test
+    void readsStoredSpotsOfBucketsNotFullyInMemory() {
+        ReceptionReport report = save("W1AW", NA_LATITUDE, NA_LONGITUDE, now.minusMinutes(1));
+        save("W1AW", NA_LATITUDE, NA_LONGITUDE, now.minusMinutes(2));
+        // Tracking starts in the current bucket, so it is still read from the database
+        tileService.record(report);
+
+        TileAggregate tile = tileService.getTile("W1AW", 2, 1, 1, 60);
+
+        assertThat(tile.spots()).isEqualTo(2);
+        assertThat(tile.clusters()).hasSize(1);
+        assertThat(tile.clusters().get(0).count()).isEqualTo(2);
+    }
+
+    @Test
+    void cachesClosedBucketsOnly() {
+        save("W1AW", NA_LATITUDE, NA_LONGITUDE, now.minusHours(3));
+        save("W1AW", NA_LATITUDE, NA_LONGITUDE, now.minusMinutes(5));
+        assertThat(tileService.getTile("W1AW", 2, 1, 1, 240).spots()).isEqualTo(2);
+
+        repository.deleteAllInBatch();
+
+        // The closed bucket comes from the cache, the hot one is read again
+        assertThat(tileService.getTile("W1AW", 2, 1, 1, 240).spots()).isEqualTo(1);
+    }
+
+    @Test
+    void limitsCacheToConfiguredNumberOfTiles() {
+        config.getTiles().setCacheSize(1);
+        tileService.init();
+        save("W1AW", NA_LATITUDE, NA_LONGITUDE, now.minusHours(3));
+        tileService.getTile("W1AW", 2, 1, 1, 240);
+        tileService.getTile("W1AW", 0, 0, 0, 240);
+
+        repository.deleteAllInBatch();
+
+        assertThat(tileService.getTile("W1AW", 0, 0, 0, 240).spots()).isEqualTo(1);
+        assertThat(tileService.getTile("W1AW", 2, 1, 1, 240).spots()).isZero();
+    }
+
+    @Test
+    void rejectsZoomBeyondCellKeyRange() {
+        config.getTiles().setMaxZoom(27);
+
+        assertThatThrownBy(() -> tileService.init()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private ReceptionReport save(String callsign, double rxLatitude, double rxLongitude, LocalDateTime timestamp) {
+        return repository.saveAndFlush(ReceptionReport.builder()
+            .txCallsign(callsign)
+            .rxCallsign("K2ABC")
+            .frequency(14_074_000L)
+            .mode("FT8")
+            .snr(-10)
+            .rxLatitude(rxLatitude)
+            .rxLongitude(rxLongitude)
+            .timestamp(timestamp)
+            .alertSent(false)
+            .build());
+    }
+}
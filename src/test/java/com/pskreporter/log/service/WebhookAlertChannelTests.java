@@ -0,0 +1,206 @@
+package com.pskreporter.log.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pskreporter.log.config.PSKReporterConfig;
+import com.pskreporter.log.model.AlertMessage;
+import com.pskreporter.log.model.WebhookEndpointStats;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class WebhookAlertChannelTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> alerts = new ConcurrentHashMap<>();
+    // The slow endpoint holds every request until released
+    private final CountDownLatch slowArrived = new CountDownLatch(1);
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+
+    private HttpServer server;
+    private String baseUrl;
+    private PSKReporterConfig config;
+    private WebhookAlertChannel channel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> respond(exchange, 200));
+        server.createContext("/flaky", exchange ->
+            respond(exchange, requests.computeIfAbsent("/flaky", path -> new AtomicInteger()).get() < 2 ? 500 : 200));
+        server.createContext("/slow", exchange -> {
+            slowArrived.countDown();
+            try {
+                slowRelease.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        config = new PSKReporterConfig();
+        PSKReporterConfig.Webhook webhook = config.getAlert().getWebhook();
+        webhook.setMaxBatchSize(100);
+        webhook.setRequestTimeoutMs(500);
+        webhook.setRetryBackoffMs(10);
+        webhook.setMaxRetries(2);
+        channel = new WebhookAlertChannel(config, objectMapper);
+        channel.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowRelease.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void batchesAlertsIntoOnePostPerFlush() {
+        for (int i = 0; i < 250; i++) {
+            assertThat(channel.send(List.of(baseUrl + "/ok"), alert(i))).isTrue();
+        }
+
+        awaitFlushed(() -> stats("/ok").delivered() == 250);
+
+        assertThat(requests.get("/ok")).hasValue(3);
+        assertThat(alerts.get("/ok")).hasValue(250);
+        assertThat(stats("/ok").batches()).isEqualTo(3);
+        assertThat(stats("/ok").queued()).isZero();
+    }
+
+    @Test
+    void slowEndpointDoesNotHoldUpOthers() {
+        config.getAlert().getWebhook().setRequestTimeoutMs(10_000);
+        List<String> urls = List.of(baseUrl + "/ok", baseUrl + "/slow");
+        for (int i = 0; i < 10; i++) {
+            channel.send(urls, alert(i));
+        }
+
+        awaitFlushed(() -> stats("/ok").delivered() == 10 && slowArrived.getCount() == 0);
+
+        // Delivered while the batch for the slow endpoint is still held by the server
+        assertThat(stats("/slow").queued()).isEqualTo(10);
+        assertThat(stats("/slow").delivered()).isZero();
+        assertThat(stats("/slow").failed()).isZero();
+
+        slowRelease.countDown();
+        awaitFlushed(() -> stats("/slow").delivered() == 10);
+        assertThat(stats("/slow").retries()).isZero();
+    }
+
+    @Test
+    void retriesFailingEndpoints() {
+        List<String> urls = List.of(baseUrl + "/flaky", baseUrl + "/slow");
+        for (int i = 0; i < 10; i++) {
+            channel.send(urls, alert(i));
+        }
+
+        // The slow endpoint times out on every attempt
+        awaitFlushed(() -> stats("/flaky").delivered() == 10 && stats("/slow").failed() == 10);
+
+        assertThat(stats("/flaky").retries()).isEqualTo(2);
+        assertThat(stats("/flaky").failed()).isZero();
+        assertThat(stats("/slow").retries()).isEqualTo(2);
+        assertThat(stats("/slow").delivered()).isZero();
+    }
+
+    @Test
+    void dropsAlertsWhenQueueIsFull() {
+        config.getAlert().getWebhook().setMaxQueueSize(5);
+        for (int i = 0; i < 8; i++) {
+            channel.send(List.of(baseUrl + "/ok"), alert(i));
+        }
+
+        assertThat(stats("/ok").queued()).isEqualTo(5);
+        assertThat(stats("/ok").dropped()).isEqualTo(3);
+    }
+
+    /**
+     * Delivery throughput and latency against local endpoints.
+     * Run with {@code ./mvnw -Pbenchmark test}.
+     */
+    @Test
+    @Tag("benchmark")
+    void deliveryThroughput() {
+        config.getAlert().getWebhook().setMaxBatchSize(500);
+        config.getAlert().getWebhook().setMaxQueueSize(1_000_000);
+        List<String> urls = List.of(baseUrl + "/ok", baseUrl + "/ok?b", baseUrl + "/ok?c", baseUrl + "/ok?d");
+
+        int count = 50_000;
+        long started = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            channel.send(urls, alert(i));
+        }
+        awaitFlushed(() -> channel.getStats().stream().mapToLong(WebhookEndpointStats::delivered).sum() == 4L * count);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        for (WebhookEndpointStats stats : channel.getStats()) {
+            log.info("{}: {} alerts in {} batches, latency avg {} ms, max {} ms",
+                     stats.url(), stats.delivered(), stats.batches(),
+                     String.format("%.1f", stats.avgLatencyMs()), stats.maxLatencyMs());
+        }
+        log.info("Delivered {} alerts in {} s ({} alerts/s)",
+                 4L * count, String.format("%.2f", seconds), Math.round(4 * count / seconds));
+        assertThat(4 * count / seconds).isGreaterThan(10_000);
+    }
+
+    private void respond(HttpExchange exchange, int status) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        requests.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        if (status == 200) {
+            alerts.computeIfAbsent(path, key -> new AtomicInteger()).addAndGet(body.get("alerts").size());
+        }
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private void awaitFlushed(BooleanSupplier done) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!done.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("delivery timed out").isLessThan(deadline);
+            channel.flush();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private WebhookEndpointStats stats(String path) {
+        return channel.getStats().stream()
+            .filter(stats -> stats.url().equals(baseUrl + path))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static AlertMessage alert(int i) {
+        return new AlertMessage("reception", "W1AW", "PSKReporter Alert: W1AW", "Alert " + i,
+                                LocalDateTime.now(), Map.of("reportId", i));
+    }
+}
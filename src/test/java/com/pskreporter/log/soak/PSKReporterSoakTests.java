@@ -0,0 +1,431 @@
+package com.pskreporter.log.soak;
+
+import com.pskreporter.log.model.IngestStats;
+import com.pskreporter.log.model.Maidenhead;
+import com.pskreporter.log.model.PSKReporterPacketWriter;
+import com.pskreporter.log.service.MonitoredCallsignService;
+import com.pskreporter.log.service.PSKReporterClient;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end soak test: IPFIX packets over UDP into {@link PSKReporterClient},
+ * through the whole ingest pipeline into {@code reception_reports}, and alert
+ * emails out to a {@link FakeSmtpServer}. The database is in-memory H2 unless
+ * {@code soak.datasource.url} points at a local PostgreSQL.
+ *
+ * Each packet carries {@code soak.spots-per-packet} spots and is stamped with
+ * its send time; its receiver callsign ("SOAK" + packet number) appears in the
+ * stored rows and in alert emails, which gives ingest-to-persist latency (by
+ * polling the table every {@code soak.poll-ms}) and ingest-to-alert latency
+ * (when the SMTP server receives the message). Heap and GC figures include the
+ * load generator, which runs in the same JVM.
+ *
+ * Run with {@code ./mvnw -Psoak test}; see the README for the settings.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Tag("soak")
+class PSKReporterSoakTests {
+
+    private static final Duration DURATION = Duration.parse(System.getProperty("soak.duration", "PT1M"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("soak.warmup", "PT15S"));
+    private static final int RATE = Integer.getInteger("soak.rate", 1000);
+    private static final int SPOTS_PER_PACKET = Integer.getInteger("soak.spots-per-packet", 10);
+    private static final double MONITORED_FRACTION = Double.parseDouble(System.getProperty("soak.monitored-fraction", "0.5"));
+    private static final int SNR_THRESHOLD = Integer.getInteger("soak.snr-threshold", 25);
+    private static final int POLL_MS = Integer.getInteger("soak.poll-ms", 10);
+    private static final double MAX_DROP_RATE = Double.parseDouble(System.getProperty("soak.max-drop-rate", "0.01"));
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final Pattern RECEIVER = Pattern.compile("Receiver: SOAK(\\d+)");
+    private static final String[] MODES = {"FT8", "FT4", "JS8", "WSPR"};
+    private static final long[] FREQUENCIES = {3_573_000L, 7_074_000L, 14_074_000L, 21_074_000L, 28_074_000L};
+
+    // Send time (System.nanoTime) of each packet, allocated up front so the
+    // generator does not add to heap growth while running
+    private static final long[] SENT_AT = new long[(int) ((WARMUP.toSeconds() + DURATION.toSeconds())
+        * RATE / SPOTS_PER_PACKET + 1)];
+
+    private static final Recorder persistLatency = new Recorder(MAX_LATENCY_MICROS, 3);
+    private static final Recorder alertLatency = new Recorder(MAX_LATENCY_MICROS, 3);
+    private static final Recorder gcPauses = new Recorder(MAX_LATENCY_MICROS, 3);
+    private static final AtomicLong alertsReceived = new AtomicLong();
+    private static final AtomicLong otherMessages = new AtomicLong();
+    private static final FakeSmtpServer smtp = startSmtp();
+    private static final int udpPort = freeUdpPort();
+
+    @Autowired
+    private PSKReporterClient client;
+
+    @Autowired
+    private MonitoredCallsignService callsignService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong peakHeap = new AtomicLong();
+    private volatile long lastId;
+
+    @DynamicPropertySource
+    static void soakProperties(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("soak.datasource.url");
+        if (url != null && !url.isBlank()) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.driver-class-name", () -> "");
+            registry.add("spring.datasource.username", () -> System.getProperty("soak.datasource.username", ""));
+            registry.add("spring.datasource.password", () -> System.getProperty("soak.datasource.password", ""));
+        } else {
+            registry.add("spring.datasource.url", () -> "jdbc:h2:mem:soak;DB_CLOSE_DELAY=-1");
+        }
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", smtp::getPort);
+        registry.add("spring.mail.username", () -> "");
+        registry.add("spring.mail.password", () -> "");
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+        registry.add("pskreporter.server.port", () -> udpPort);
+        registry.add("pskreporter.monitored-callsigns", () -> "SK*");
+        registry.add("pskreporter.alert.recipients", () -> "soak@example.com");
+        registry.add("pskreporter.alert.snr-threshold", () -> SNR_THRESHOLD);
+        registry.add("pskreporter.alert.distance-threshold", () -> Integer.MAX_VALUE);
+        registry.add("pskreporter.alert.webhook-urls", () -> "");
+        registry.add("logging.level.com.pskreporter", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    void soak() throws Exception {
+        awaitCondition(() -> client.isListening() && callsignService.isMonitored("SK0"), Duration.ofSeconds(30));
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        NotificationListener gcListener = this::recordGcPause;
+        ManagementFactory.getGarbageCollectorMXBeans()
+            .forEach(gc -> ((NotificationEmitter) gc).addNotificationListener(gcListener, null, null));
+        ScheduledExecutorService monitors = Executors.newScheduledThreadPool(2);
+        monitors.scheduleWithFixedDelay(this::pollPersisted, POLL_MS, POLL_MS, TimeUnit.MILLISECONDS);
+        monitors.scheduleAtFixedRate(
+            () -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max), 0, 1, TimeUnit.SECONDS);
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        Traffic traffic = new Traffic();
+        long start = System.nanoTime();
+
+        // Warm up, then start measuring from a collected heap
+        traffic.send(start, start + WARMUP.toNanos());
+        System.gc();
+        // GC notifications are delivered asynchronously
+        Thread.sleep(500);
+        long heapAfterWarmup = memory.getHeapMemoryUsage().getUsed();
+        persistLatency.getIntervalHistogram();
+        alertLatency.getIntervalHistogram();
+        gcPauses.getIntervalHistogram();
+        long[] gcBefore = gcTotals();
+        peakHeap.set(0);
+
+        traffic.send(start, start + WARMUP.toNanos() + DURATION.toNanos());
+        long sendingStoppedAt = System.nanoTime();
+
+        // Let the pipeline drain before reading the counters
+        awaitQuiet(Duration.ofSeconds(2), Duration.ofMinutes(2),
+            () -> client.getStats().receptions(), persisted::get, alertsReceived::get);
+        long drainMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sendingStoppedAt);
+
+        Histogram persistHistogram = persistLatency.getIntervalHistogram();
+        Histogram alertHistogram = alertLatency.getIntervalHistogram();
+        Histogram gcHistogram = gcPauses.getIntervalHistogram();
+        long[] gcAfter = gcTotals();
+        long peak = peakHeap.get();
+        System.gc();
+        long heapAtEnd = memory.getHeapMemoryUsage().getUsed();
+
+        monitors.shutdownNow();
+        ManagementFactory.getGarbageCollectorMXBeans().forEach(gc -> {
+            try {
+                ((NotificationEmitter) gc).removeNotificationListener(gcListener);
+            } catch (Exception e) {
+                // Already removed
+            }
+        });
+
+        IngestStats ingest = client.getStats();
+        long udpDropped = traffic.packets - ingest.packets();
+        long persistDropped = traffic.monitoredSpots - persisted.get();
+        long alertsDropped = traffic.expectedAlerts - alertsReceived.get();
+
+        SoakReport report = new SoakReport();
+        report.put("run", "version", System.getProperty("soak.version", "dev"));
+        report.put("run", "startedAt", startedAt.toString());
+        report.put("run", "durationSeconds", DURATION.toSeconds());
+        report.put("run", "warmupSeconds", WARMUP.toSeconds());
+        report.put("run", "targetSpotsPerSecond", RATE);
+        report.put("run", "spotsPerPacket", SPOTS_PER_PACKET);
+        report.put("run", "monitoredFraction", MONITORED_FRACTION);
+        report.put("run", "database", System.getProperty("soak.datasource.url", "h2:mem"));
+        report.put("run", "persistPollMs", POLL_MS);
+        report.put("run", "drainMillis", drainMillis);
+        report.put("run", "java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        report.put("run", "gcCollectors", ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .map(GarbageCollectorMXBean::getName).toList());
+        report.put("run", "processors", Runtime.getRuntime().availableProcessors());
+        report.put("run", "maxHeapMb", mb(Runtime.getRuntime().maxMemory()));
+
+        report.put("traffic", "packetsSent", traffic.packets);
+        report.put("traffic", "spotsSent", traffic.spots);
+        report.put("traffic", "monitoredSpotsSent", traffic.monitoredSpots);
+        report.put("traffic", "alertsExpected", traffic.expectedAlerts);
+        report.put("traffic", "packetsReceived", ingest.packets());
+        report.put("traffic", "receptionsParsed", ingest.receptions());
+        report.put("traffic", "spotsPersisted", persisted.get());
+        report.put("traffic", "alertsReceived", alertsReceived.get());
+        report.put("traffic", "otherMessages", otherMessages.get());
+
+        report.put("drops", "udpPackets", udpDropped);
+        report.put("drops", "malformedPackets", ingest.malformedPackets());
+        report.put("drops", "unknownTemplateSets", ingest.unknownTemplateSets());
+        report.put("drops", "rejectedRecords", ingest.rejectedRecords());
+        report.put("drops", "failedReceptions", ingest.failedReceptions());
+        report.put("drops", "spotsNotPersisted", persistDropped);
+        report.put("drops", "alertsNotDelivered", alertsDropped);
+
+        report.putLatency("persist", persistHistogram);
+        report.putLatency("alert", alertHistogram);
+        report.putLatency("gcPause", gcHistogram);
+
+        report.put("heap", "usedAfterWarmupMb", mb(heapAfterWarmup));
+        report.put("heap", "usedAtEndMb", mb(heapAtEnd));
+        report.put("heap", "growthMb", mb(heapAtEnd - heapAfterWarmup));
+        report.put("heap", "growthMbPerHour", mb((heapAtEnd - heapAfterWarmup) * 3600 / Math.max(DURATION.toSeconds(), 1)));
+        report.put("heap", "peakUsedMb", mb(peak));
+        report.put("gc", "collections", gcAfter[0] - gcBefore[0]);
+        report.put("gc", "totalTimeMs", gcAfter[1] - gcBefore[1]);
+
+        String name = "soak-" + System.getProperty("soak.version", "dev") + "-"
+            + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path json = report.write(Path.of(System.getProperty("soak.report-dir", "target/soak-reports")), name);
+        log.info("Soak report written to {}", json.toAbsolutePath());
+        report.getSections().forEach((section, values) -> log.info("{}: {}", section, values));
+
+        assertThat(ingest.malformedPackets()).isZero();
+        assertThat(persistDropped).isLessThanOrEqualTo((long) (traffic.monitoredSpots * MAX_DROP_RATE));
+        assertThat(alertsDropped).isLessThanOrEqualTo((long) (traffic.expectedAlerts * MAX_DROP_RATE));
+    }
+
+    /**
+     * Paced UDP load generator. Spots come from SK* (monitored) and ZZ*
+     * (not monitored) callsigns at random locators; an alert is expected for
+     * every monitored spot at or above the SNR threshold.
+     */
+    private static final class Traffic {
+
+        private final Random random = new Random(38);
+        private final long intervalNanos = SPOTS_PER_PACKET * 1_000_000_000L / RATE;
+        private final long epochSeconds = System.currentTimeMillis() / 1000;
+        private long packets;
+        private long spots;
+        private long monitoredSpots;
+        private long expectedAlerts;
+
+        void send(long start, long end) throws IOException {
+            try (DatagramSocket socket = new DatagramSocket()) {
+                InetSocketAddress target = new InetSocketAddress(InetAddress.getLoopbackAddress(), udpPort);
+                while (packets < SENT_AT.length) {
+                    long due = start + packets * intervalNanos;
+                    if (due >= end) {
+                        return;
+                    }
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+
+                    List<PSKReporterPacketWriter.Spot> batch = new ArrayList<>(SPOTS_PER_PACKET);
+                    for (int i = 0; i < SPOTS_PER_PACKET; i++) {
+                        boolean monitored = random.nextDouble() < MONITORED_FRACTION;
+                        int snr = random.nextInt(61) - 30;
+                        if (monitored) {
+                            monitoredSpots++;
+                            if (snr >= SNR_THRESHOLD) {
+                                expectedAlerts++;
+                            }
+                        }
+                        batch.add(new PSKReporterPacketWriter.Spot(
+                            (monitored ? "SK" : "ZZ") + random.nextInt(1000),
+                            FREQUENCIES[random.nextInt(FREQUENCIES.length)] + random.nextInt(3000),
+                            snr,
+                            MODES[random.nextInt(MODES.length)],
+                            randomLocator(),
+                            epochSeconds + TimeUnit.NANOSECONDS.toSeconds(due - start)));
+                    }
+                    byte[] packet = PSKReporterPacketWriter.packet(packets, 1, "SOAK" + packets, randomLocator(),
+                        batch, packets % 20 == 0);
+
+                    SENT_AT[(int) packets] = System.nanoTime();
+                    socket.send(new DatagramPacket(packet, packet.length, target));
+                    packets++;
+                    spots += SPOTS_PER_PACKET;
+                }
+            }
+        }
+
+        private String randomLocator() {
+            return Maidenhead.toLocator(random.nextDouble() * 140 - 60, random.nextDouble() * 360 - 180);
+        }
+    }
+
+    /**
+     * Record the persist latency of every row stored since the last poll.
+     */
+    private void pollPersisted() {
+        try {
+            jdbcTemplate.query("SELECT id, rx_callsign FROM reception_reports WHERE id > ? ORDER BY id", rs -> {
+                long now = System.nanoTime();
+                lastId = rs.getLong(1);
+                persisted.incrementAndGet();
+                String receiver = rs.getString(2);
+                if (receiver.startsWith("SOAK")) {
+                    record(persistLatency, receiver.substring(4), now);
+                }
+            }, lastId);
+        } catch (RuntimeException e) {
+            // Context shutting down
+        }
+    }
+
+    private static void receiveMail(long receivedAt, String message) {
+        Matcher matcher = RECEIVER.matcher(message);
+        if (!matcher.find()) {
+            otherMessages.incrementAndGet();
+            return;
+        }
+        alertsReceived.incrementAndGet();
+        record(alertLatency, matcher.group(1), receivedAt);
+    }
+
+    private static void record(Recorder recorder, String packet, long observedAt) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(observedAt - SENT_AT[Integer.parseInt(packet)]);
+        recorder.recordValue(Math.min(Math.max(micros, 0), MAX_LATENCY_MICROS));
+    }
+
+    /**
+     * Record stop-the-world collections; concurrent cycles (G1 Concurrent GC,
+     * ZGC Cycles) run alongside the application and are not pauses.
+     */
+    private void recordGcPause(Notification notification, Object handback) {
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (info.getGcName().contains("Concurrent") || info.getGcName().contains("Cycles")) {
+            return;
+        }
+        gcPauses.recordValue(Math.min(TimeUnit.MILLISECONDS.toMicros(info.getGcInfo().getDuration()), MAX_LATENCY_MICROS));
+    }
+
+    /**
+     * Collection count and time summed over all collectors.
+     */
+    private static long[] gcTotals() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(gc.getCollectionCount(), 0);
+            totals[1] += Math.max(gc.getCollectionTime(), 0);
+        }
+        return totals;
+    }
+
+    /**
+     * Wait until none of the counters has changed for the quiet period.
+     */
+    private static void awaitQuiet(Duration quiet, Duration timeout, LongSupplier... counters) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long[] last = new long[counters.length];
+        long changedAt = System.nanoTime();
+        while (System.nanoTime() < deadline && System.nanoTime() - changedAt < quiet.toNanos()) {
+            for (int i = 0; i < counters.length; i++) {
+                long value = counters[i].getAsLong();
+                if (value != last[i]) {
+                    last[i] = value;
+                    changedAt = System.nanoTime();
+                }
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("Timed out waiting for the application").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static double mb(long bytes) {
+        return Math.round(bytes / 1024.0 / 1024.0 * 10) / 10.0;
+    }
+
+    private static FakeSmtpServer startSmtp() {
+        try {
+            return new FakeSmtpServer(PSKReporterSoakTests::receiveMail);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int freeUdpPort() {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
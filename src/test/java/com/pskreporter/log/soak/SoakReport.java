@@ -0,0 +1,78 @@
+package com.pskreporter.log.soak;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of a soak run, written as one JSON file plus an HdrHistogram
+ * percentile distribution (.hgrm) per latency. Key names and units are
+ * stable, so reports of different releases can be diffed or plotted side
+ * by side. Latencies are recorded in microseconds and reported in
+ * milliseconds.
+ */
+public class SoakReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Object> sections = new LinkedHashMap<>();
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+
+    public void put(String section, String key, Object value) {
+        section(section).put(key, value);
+    }
+
+    /**
+     * Add the percentiles of a microsecond histogram, and keep it for its .hgrm file.
+     */
+    public void putLatency(String name, Histogram histogram) {
+        Map<String, Object> latency = section("latency." + name);
+        latency.put("count", histogram.getTotalCount());
+        latency.put("meanMs", round(histogram.getMean() / MICROS_PER_MILLI));
+        for (double percentile : new double[] {50, 90, 99, 99.9, 99.99}) {
+            latency.put("p" + String.valueOf(percentile).replace(".0", "").replace('.', '_') + "Ms",
+                round(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI));
+        }
+        latency.put("maxMs", round(histogram.getMaxValue() / MICROS_PER_MILLI));
+        histograms.put(name, histogram);
+    }
+
+    public Map<String, Object> getSections() {
+        return sections;
+    }
+
+    /**
+     * Write {@code <name>.json} and {@code <name>-<latency>.hgrm} into a directory.
+     *
+     * @return the JSON file
+     */
+    public Path write(Path directory, String name) throws IOException {
+        Files.createDirectories(directory);
+        Path json = directory.resolve(name + ".json");
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(json.toFile(), sections);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + "-" + entry.getKey() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> section(String section) {
+        return (Map<String, Object>) sections.computeIfAbsent(section, key -> new LinkedHashMap<String, Object>());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}